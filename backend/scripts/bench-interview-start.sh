@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+# Measures what persisting an interview plan costs: POST /interviews/start with the simulator
+# provider at 1 ms latency on a file-backed H2 database, reporting the mean request time and
+# the JDBC statements and batches per start from Hibernate's session metrics.
+#
+# Usage: scripts/bench-interview-start.sh [runs] [questions]     (defaults: 10 runs, 20 questions)
+# Run it on two checkouts (e.g. before and after a change to ID generation or batching) to compare.
+# Needs curl and python3; the H2 driver is fetched into the local Maven repository if missing.
+#
+# Reading the statement count: with pooled table IDs a start costs one unbatched statement, plus a
+# select and an update on id_generators whenever a table's block of 50 IDs runs out. With 20
+# questions the questions block runs out every 2.5 starts, so individual starts show 1 or 3
+# statements and the first start after boot shows more (7 here, as every block is fetched). The
+# average over the 10 runs after warm-up is 1.8. The "5 statements per start" quoted when pooled
+# IDs were introduced was not this average: it counted a start that also fetched new ID blocks.
+set -euo pipefail
+
+RUNS=${1:-10}
+QUESTIONS=${2:-20}
+PORT=${BENCH_PORT:-18080}
+H2_VERSION=2.2.224
+
+cd "$(dirname "$0")/.."
+WORK=$(mktemp -d)
+APP_PID=
+cleanup() {
+    if [ -n "$APP_PID" ]; then kill "$APP_PID" 2>/dev/null || true; fi
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+mvn -B -q compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile="$WORK/cp.txt"
+mvn -B -q dependency:get -Dartifact=com.h2database:h2:$H2_VERSION
+H2_JAR="$HOME/.m2/repository/com/h2database/h2/$H2_VERSION/h2-$H2_VERSION.jar"
+
+: > "$WORK/app.log"
+# Pool and near-duplicate reuse are off so every start inserts a full plan of new questions
+java -cp "target/classes:$(cat "$WORK/cp.txt"):$H2_JAR" com.virtualinterviewer.VirtualInterviewerApplication \
+    --server.port="$PORT" \
+    --spring.datasource.url="jdbc:h2:file:$WORK/bench;MODE=MySQL" \
+    --spring.datasource.driver-class-name=org.h2.Driver \
+    --spring.datasource.username=sa --spring.datasource.password= \
+    --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect \
+    --spring.jpa.properties.hibernate.generate_statistics=true \
+    --logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=INFO \
+    --ai.provider=simulator --ai.simulator.latency.mean-ms=1 --ai.simulator.latency.spread-ms=0 \
+    --interview.pool.enabled=false --interview.dedup.enabled=false \
+    --interview.question-export.fetch-size=100 \
+    > "$WORK/app.log" 2>&1 &
+APP_PID=$!
+
+for _ in $(seq 1 120); do
+    grep -q "Started VirtualInterviewerApplication" "$WORK/app.log" && break
+    if ! kill -0 "$APP_PID" 2>/dev/null; then cat "$WORK/app.log"; exit 1; fi
+    sleep 1
+done
+
+BASE="http://localhost:$PORT/api"
+TOKEN=$(curl -sf -X POST "$BASE/auth/register" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"bench$RANDOM@example.com\",\"password\":\"bench123\",\"firstName\":\"Bench\",\"lastName\":\"User\"}" \
+    | python3 -c 'import json, sys; print(json.load(sys.stdin)["token"])')
+BODY="{\"jobRole\":\"Backend Engineer\",\"domain\":\"System Design\",\"numberOfQuestions\":$QUESTIONS}"
+
+start() {
+    curl -sf -o /dev/null -w '%{time_total}\n' -X POST "$BASE/interviews/start" \
+        -H "Authorization: Bearer $TOKEN" -H 'Content-Type: application/json' -d "$BODY"
+}
+
+# Warm up (class loading, first ID blocks), then only count metrics logged by the measured runs
+for _ in 1 2 3; do start > /dev/null; done
+sleep 1
+OFFSET=$(wc -l < "$WORK/app.log")
+for _ in $(seq 1 "$RUNS"); do start; done > "$WORK/times.txt"
+sleep 1
+
+python3 - "$WORK/app.log" "$OFFSET" "$WORK/times.txt" "$RUNS" "$QUESTIONS" <<'EOF'
+import re, sys
+log, offset, times, runs, questions = sys.argv[1], int(sys.argv[2]), sys.argv[3], int(sys.argv[4]), sys.argv[5]
+lines = open(log).read().splitlines()[offset:]
+statements = sum(int(m.group(1)) for l in lines for m in [re.search(r"executing (\d+) JDBC statements", l)] if m)
+batches = sum(int(m.group(1)) for l in lines for m in [re.search(r"executing (\d+) JDBC batches", l)] if m)
+ms = [float(t) * 1000 for t in open(times).read().split()]
+print(f"{runs} starts of {questions} questions")
+print(f"  mean {sum(ms) / len(ms):.1f} ms, min {min(ms):.1f} ms, max {max(ms):.1f} ms")
+print(f"  {statements / runs:.1f} JDBC statements and {batches / runs:.1f} JDBC batches per start")
+EOF
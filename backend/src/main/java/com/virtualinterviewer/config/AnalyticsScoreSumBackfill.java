@@ -0,0 +1,31 @@
+package com.virtualinterviewer.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Analytics rows written before score_sum existed only kept the average. Their running sum is
+ * rebuilt from it once at startup, before any completion can add to a missing sum.
+ */
+@Component
+public class AnalyticsScoreSumBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depending on the EntityManagerFactory makes sure the schema update has already run
+    public AnalyticsScoreSumBackfill(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        int updated = jdbcTemplate.update(
+                "UPDATE analytics SET score_sum = COALESCE(average_score, 0) * COALESCE(completed_interviews, 0) " +
+                "WHERE score_sum IS NULL");
+        if (updated > 0) {
+            System.out.println("Backfilled score_sum for " + updated + " analytics rows");
+        }
+    }
+}
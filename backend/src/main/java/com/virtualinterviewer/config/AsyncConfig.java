@@ -0,0 +1,70 @@
+package com.virtualinterviewer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // Caps concurrent LLM calls made while building interview plans, across all requests
+    @Bean(name = "questionGenerationExecutor")
+    public ThreadPoolTaskExecutor questionGenerationExecutor(
+            @Value("${interview.generation.parallelism:8}") int parallelism,
+            @Value("${interview.generation.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("question-gen-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    // Background AI scoring of answers submitted in async evaluation mode
+    @Bean(name = "answerEvaluationExecutor")
+    public ThreadPoolTaskExecutor answerEvaluationExecutor(
+            @Value("${interview.evaluation.workers:8}") int workers,
+            @Value("${interview.evaluation.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("answer-eval-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs SSE feedback streams off the servlet thread
+    @Bean(name = "feedbackStreamExecutor")
+    public ThreadPoolTaskExecutor feedbackStreamExecutor(
+            @Value("${interview.feedback-stream.workers:16}") int workers,
+            @Value("${interview.feedback-stream.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("feedback-stream-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    // Writes chunks of users for the admin-triggered analytics rebuild
+    @Bean(name = "analyticsRebuildExecutor")
+    public ThreadPoolTaskExecutor analyticsRebuildExecutor(
+            @Value("${analytics.rebuild.workers:4}") int workers,
+            @Value("${analytics.rebuild.queue-capacity:8}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analytics-rebuild-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
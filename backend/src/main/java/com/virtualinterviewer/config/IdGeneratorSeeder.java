@@ -0,0 +1,50 @@
+package com.virtualinterviewer.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Interviews, questions, answers and feedback take their IDs in blocks of 50 from the
+ * id_generators table so Hibernate can batch their inserts. Rows created while these
+ * tables still used IDENTITY keep their IDs, so on startup each segment is moved past
+ * the current maximum before anything is inserted.
+ */
+@Component
+public class IdGeneratorSeeder {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final List<String> SEGMENTS = List.of("interviews", "interview_questions", "answers", "feedback");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depending on the EntityManagerFactory makes sure the schema update has already run
+    public IdGeneratorSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void seed() {
+        for (String table : SEGMENTS) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId == null) {
+                continue;
+            }
+            // The pooled optimizer hands out (next_val - 49)..next_val from a fetched value
+            long floor = maxId + ALLOCATION_SIZE + 1;
+            List<Long> current = jdbcTemplate.queryForList(
+                    "SELECT next_val FROM id_generators WHERE segment = ?", Long.class, table);
+            if (current.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO id_generators (segment, next_val) VALUES (?, ?)", table, floor);
+            } else if (current.get(0) < floor) {
+                jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE segment = ?", floor, table);
+            } else {
+                continue;
+            }
+            System.out.println("Moved ID generator for " + table + " past existing max id " + maxId);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.virtualinterviewer.config;
+
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.service.OpenAiService;
+import okhttp3.OkHttpClient;
+
+/**
+ * Long-lived OpenAI clients, one per operation so each can carry its own read timeout.
+ * All of them share a single OkHttp connection pool and dispatcher.
+ */
+public class OpenAiClients {
+
+    private final OkHttpClient httpClient;
+    private final OpenAiApi questionApi;
+    private final OpenAiService questionService;
+    private final OpenAiService evaluationService;
+    private final OpenAiService feedbackService;
+
+    public OpenAiClients(OkHttpClient httpClient,
+                         OpenAiApi questionApi,
+                         OpenAiService evaluationService,
+                         OpenAiService feedbackService) {
+        this.httpClient = httpClient;
+        this.questionApi = questionApi;
+        this.questionService = new OpenAiService(questionApi);
+        this.evaluationService = evaluationService;
+        this.feedbackService = feedbackService;
+    }
+
+    // Raw API for question calls, which cancel their request when the interview's deadline passes
+    public OpenAiApi getQuestionApi() { return questionApi; }
+
+    public OpenAiService getQuestionService() { return questionService; }
+
+    public OpenAiService getEvaluationService() { return evaluationService; }
+
+    public OpenAiService getFeedbackService() { return feedbackService; }
+
+    // Called by Spring when the context closes
+    public void shutdown() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+}
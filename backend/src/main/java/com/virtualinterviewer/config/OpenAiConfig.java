@@ -0,0 +1,70 @@
+package com.virtualinterviewer.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.service.OpenAiService;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = "ai.provider", havingValue = "openai", matchIfMissing = true)
+public class OpenAiConfig {
+
+    @Value("${openai.api-key}")
+    private String apiKey;
+
+    @Value("${openai.timeout:30}")
+    private long connectTimeoutSeconds;
+
+    @Value("${openai.pool.max-idle-connections:50}")
+    private int maxIdleConnections;
+
+    @Value("${openai.pool.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${openai.timeouts.question:20}")
+    private long questionTimeoutSeconds;
+
+    @Value("${openai.timeouts.evaluation:30}")
+    private long evaluationTimeoutSeconds;
+
+    @Value("${openai.timeouts.feedback:45}")
+    private long feedbackTimeoutSeconds;
+
+    @Bean(destroyMethod = "shutdown")
+    public OpenAiClients openAiClients() {
+        // defaultClient installs the auth interceptor; we only swap in a shared, sized pool
+        OkHttpClient baseClient = OpenAiService.defaultClient(apiKey, Duration.ofSeconds(connectTimeoutSeconds))
+                .newBuilder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+                .retryOnConnectionFailure(true)
+                .build();
+
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        return new OpenAiClients(
+                baseClient,
+                buildApi(baseClient, mapper, questionTimeoutSeconds),
+                buildService(baseClient, mapper, evaluationTimeoutSeconds),
+                buildService(baseClient, mapper, feedbackTimeoutSeconds)
+        );
+    }
+
+    private OpenAiService buildService(OkHttpClient baseClient, ObjectMapper mapper, long readTimeoutSeconds) {
+        return new OpenAiService(buildApi(baseClient, mapper, readTimeoutSeconds));
+    }
+
+    private OpenAiApi buildApi(OkHttpClient baseClient, ObjectMapper mapper, long readTimeoutSeconds) {
+        // newBuilder() shares the connection pool and dispatcher with the base client
+        OkHttpClient client = baseClient.newBuilder()
+                .readTimeout(readTimeoutSeconds, TimeUnit.SECONDS)
+                .build();
+        return OpenAiService.defaultRetrofit(client, mapper).create(OpenAiApi.class);
+    }
+}
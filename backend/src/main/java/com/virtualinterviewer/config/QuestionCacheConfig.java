@@ -0,0 +1,58 @@
+package com.virtualinterviewer.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level and query cache for the question bank. The three regions are created
+ * here with explicit bounds instead of being auto-created unbounded: question entities, cached
+ * question-list query results, and the update timestamps that invalidate those results when
+ * question_bank_version is written. Query results also expire after a TTL, which bounds how long
+ * new questions and writes made on other instances take to show up.
+ */
+@Configuration
+public class QuestionCacheConfig {
+
+    public static final String QUESTION_REGION = "questions";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${interview.question-cache.max-entities:20000}") long maxEntities,
+            @Value("${interview.question-cache.max-queries:2000}") long maxQueries,
+            @Value("${interview.question-cache.query-ttl-seconds:60}") long queryTtlSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        cacheManager.createCache(QUESTION_REGION, boundedRegion(maxEntities));
+        CaffeineConfiguration<Object, Object> queryResults = boundedRegion(maxQueries);
+        queryResults.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(queryTtlSeconds)));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryResults);
+        // Never bounded: losing a timestamp could let a stale query result be served
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> boundedRegion(long maxSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,92 @@
+package com.virtualinterviewer.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to the
+ * primary. After a user's read-write transaction commits, that user's read-only transactions
+ * stay on the primary for pinMillis, so they read their own writes despite replication lag.
+ * Has to sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is only
+ * set after the transaction manager has asked for a connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final int PIN_SWEEP_THRESHOLD = 10_000;
+
+    private final long pinMillis;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadWriteRoutingDataSource(long pinMillis, MeterRegistry meterRegistry) {
+        this.pinMillis = pinMillis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        Target target;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            target = Target.PRIMARY;
+            pinAfterCommit(user);
+        } else if (isPinned(user)) {
+            target = Target.PRIMARY;
+            meterRegistry.counter("datasource.routing.pinned").increment();
+        } else {
+            target = Target.REPLICA;
+        }
+        meterRegistry.counter("datasource.routing", "target", target.name().toLowerCase()).increment();
+        return target;
+    }
+
+    private void pinAfterCommit(String user) {
+        if (pinMillis <= 0 || user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long now = System.currentTimeMillis();
+                if (pinnedUntil.size() > PIN_SWEEP_THRESHOLD) {
+                    pinnedUntil.values().removeIf(until -> until < now);
+                }
+                pinnedUntil.put(user, now + pinMillis);
+            }
+        });
+    }
+
+    private boolean isPinned(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            pinnedUntil.remove(user, until);
+            return false;
+        }
+        return true;
+    }
+
+    // Background work runs without an authenticated user and is never pinned
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
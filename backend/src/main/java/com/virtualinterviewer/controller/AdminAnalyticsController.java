@@ -0,0 +1,46 @@
+package com.virtualinterviewer.controller;
+
+import com.virtualinterviewer.service.AnalyticsRebuildService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/analytics")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "http://localhost:3002"})
+public class AdminAnalyticsController {
+
+    private final AnalyticsRebuildService rebuildService;
+
+    public AdminAnalyticsController(AnalyticsRebuildService rebuildService) {
+        this.rebuildService = rebuildService;
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> startRebuild(@RequestParam(defaultValue = "true") boolean resume) {
+        try {
+            return ResponseEntity.accepted().body(rebuildService.start(resume));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getRebuildProgress() {
+        return ResponseEntity.ok(rebuildService.progress());
+    }
+
+    @PostMapping("/rebuild/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> cancelRebuild() {
+        try {
+            return ResponseEntity.ok(rebuildService.cancel());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body("Error: " + e.getMessage());
+        }
+    }
+}
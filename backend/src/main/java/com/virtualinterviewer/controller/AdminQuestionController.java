@@ -1,11 +1,16 @@
 package com.virtualinterviewer.controller;
 
 import com.virtualinterviewer.model.InterviewQuestion;
+import com.virtualinterviewer.service.QuestionBulkService;
 import com.virtualinterviewer.service.QuestionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-import java.util.Optional;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/admin/questions")
@@ -13,9 +18,11 @@ import java.util.Optional;
 public class AdminQuestionController {
 
     private final QuestionService questionService;
+    private final QuestionBulkService bulkService;
 
-    public AdminQuestionController(QuestionService questionService) {
+    public AdminQuestionController(QuestionService questionService, QuestionBulkService bulkService) {
         this.questionService = questionService;
+        this.bulkService = bulkService;
     }
 
     @PostMapping("/create")
@@ -33,8 +40,7 @@ public class AdminQuestionController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updateQuestion(@PathVariable Long id, @RequestBody InterviewQuestion question) {
         try {
-            Optional<InterviewQuestion> existingQuestion = questionService.getQuestionById(id);
-            if (existingQuestion.isEmpty()) {
+            if (!questionService.questionExists(id)) {
                 return ResponseEntity.notFound().build();
             }
 
@@ -50,8 +56,7 @@ public class AdminQuestionController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteQuestion(@PathVariable Long id) {
         try {
-            Optional<InterviewQuestion> question = questionService.getQuestionById(id);
-            if (question.isEmpty()) {
+            if (!questionService.questionExists(id)) {
                 return ResponseEntity.notFound().build();
             }
 
@@ -61,4 +66,55 @@ public class AdminQuestionController {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
+
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCacheStatistics() {
+        return ResponseEntity.ok(questionService.getCacheStatistics());
+    }
+
+    /**
+     * Imports questions from an NDJSON or CSV request body, read as it arrives. Valid rows are saved
+     * in batches and content already in the bank is skipped; the report lists rejected rows by line.
+     */
+    @PostMapping(value = "/bulk-import", consumes = {QuestionBulkService.NDJSON, QuestionBulkService.CSV})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkImport(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                        HttpServletRequest request) {
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            boolean csv = mediaType.isCompatibleWith(MediaType.parseMediaType(QuestionBulkService.CSV));
+            return ResponseEntity.ok(bulkService.importQuestions(request.getInputStream(),
+                    mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8, csv));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // All active questions as an NDJSON or CSV download, streamed from the database
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> exportQuestions(@RequestParam(defaultValue = "ndjson") String format,
+                                             HttpServletResponse response) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().body("Error: format must be ndjson or csv");
+        }
+        try {
+            response.setContentType(csv ? QuestionBulkService.CSV : QuestionBulkService.NDJSON);
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"questions." + (csv ? "csv" : "ndjson") + "\"");
+            bulkService.exportQuestions(response.getOutputStream(), csv);
+            return null;
+        } catch (Exception e) {
+            if (response.isCommitted()) {
+                // Too late for an error status; the download ends early
+                System.err.println("Question export aborted: " + e.getMessage());
+                return null;
+            }
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, null);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Error: " + e.getMessage());
+        }
+    }
 }
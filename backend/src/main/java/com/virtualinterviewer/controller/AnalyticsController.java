@@ -1,14 +1,19 @@
 package com.virtualinterviewer.controller;
 
+import com.virtualinterviewer.dto.InterviewPage;
+import com.virtualinterviewer.dto.InterviewSummary;
 import com.virtualinterviewer.model.Analytics;
 import com.virtualinterviewer.model.Interview;
+import com.virtualinterviewer.model.UserDomainStats;
 import com.virtualinterviewer.service.AnalyticsService;
 import com.virtualinterviewer.service.AuthService;
 import com.virtualinterviewer.service.InterviewService;
+import com.virtualinterviewer.service.ScorePercentileService;
 import com.virtualinterviewer.model.User;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -26,15 +31,18 @@ public class AnalyticsController {
     private final AnalyticsService analyticsService;
     private final AuthService authService;
     private final InterviewService interviewService;
+    private final ScorePercentileService percentileService;
 
-    public AnalyticsController(AnalyticsService analyticsService, AuthService authService, InterviewService interviewService) {
+    public AnalyticsController(AnalyticsService analyticsService, AuthService authService, InterviewService interviewService,
+                               ScorePercentileService percentileService) {
         this.analyticsService = analyticsService;
         this.authService = authService;
         this.interviewService = interviewService;
+        this.percentileService = percentileService;
     }
 
     @GetMapping("/my-analytics")
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getMyAnalytics(Authentication authentication) {
         try {
             if (authentication == null || !authentication.isAuthenticated()) {
@@ -54,19 +62,7 @@ public class AnalyticsController {
                 return ResponseEntity.status(404).body("Error: User not found for email: " + userEmail);
             }
             
-            Analytics analytics = analyticsService.getUserAnalytics(user);
-            
-            // Get interview history for detailed analytics
-            List<Interview> interviews = interviewService.getUserInterviews(user);
-            if (interviews == null) {
-                interviews = new ArrayList<>();
-            }
-            
-            List<Interview> completedInterviews = interviews.stream()
-                    .filter(i -> i != null && i.getStatus() == Interview.InterviewStatus.COMPLETED)
-                    .filter(i -> i.getStartTime() != null)
-                    .sorted((i1, i2) -> i1.getStartTime().compareTo(i2.getStartTime()))
-                    .collect(Collectors.toList());
+            Analytics analytics = analyticsService.findUserAnalytics(user);
             
             // Build detailed analytics response
             Map<String, Object> detailedAnalytics = new HashMap<>();
@@ -75,36 +71,31 @@ public class AnalyticsController {
             detailedAnalytics.put("averageScore", analytics.getAverageScore() != null ? Math.round(analytics.getAverageScore() * 10.0) / 10.0 : 0.0);
             detailedAnalytics.put("bestScore", analytics.getBestScore() != null ? Math.round(analytics.getBestScore() * 10.0) / 10.0 : 0.0);
             detailedAnalytics.put("worstScore", analytics.getWorstScore() != null && analytics.getWorstScore() > 0 ? Math.round(analytics.getWorstScore() * 10.0) / 10.0 : 0.0);
-            detailedAnalytics.put("topicStrengths", analytics.getTopicStrengths() != null ? analytics.getTopicStrengths() : "");
-            detailedAnalytics.put("topicWeaknesses", analytics.getTopicWeaknesses() != null ? analytics.getTopicWeaknesses() : "");
+            // Derived from the per-domain running totals rather than stored text
+            List<UserDomainStats> domainStats = analyticsService.getDomainStats(user);
+            detailedAnalytics.put("topicStrengths", analyticsService.describeStrengths(domainStats));
+            detailedAnalytics.put("topicWeaknesses", analyticsService.describeWeaknesses(domainStats));
+            detailedAnalytics.put("domainStatistics", domainStats.stream()
+                    .map(stats -> Map.<String, Object>of(
+                            "domain", stats.getDomain(),
+                            "answers", stats.getAnswerCount(),
+                            "averageScore", Math.round(stats.getMean() * 10.0) / 10.0,
+                            "stdDev", Math.round(stats.getStdDev() * 10.0) / 10.0))
+                    .collect(Collectors.toList()));
             detailedAnalytics.put("lastInterviewDate", analytics.getLastInterviewDate());
             
-            // Add interview history with scores
-            List<Map<String, Object>> interviewHistory = completedInterviews.stream()
-                    .limit(10) // Last 10 interviews
-                    .map(interview -> {
-                        Map<String, Object> interviewData = new HashMap<>();
-                        interviewData.put("id", interview.getId());
-                        interviewData.put("jobRole", interview.getJobRole() != null ? interview.getJobRole() : "Unknown");
-                        interviewData.put("domain", interview.getDomain() != null ? interview.getDomain() : "General");
-                        double roundedScore = interview.getOverallScore() != null ? Math.round(interview.getOverallScore() * 10.0) / 10.0 : 0.0;
-                        interviewData.put("score", roundedScore);
-                        interviewData.put("date", interview.getStartTime());
-                        return interviewData;
-                    })
+            // Last 10 completed interviews, oldest first for the trend chart
+            List<InterviewSummary> recent = new ArrayList<>(
+                    interviewService.getInterviewPage(user, Interview.InterviewStatus.COMPLETED, null, 10).items());
+            Collections.reverse(recent);
+            List<Map<String, Object>> interviewHistory = recent.stream()
+                    .map(this::historyEntry)
                     .collect(Collectors.toList());
             
             detailedAnalytics.put("interviewHistory", interviewHistory);
             
             // Calculate domain-wise performance
-            Map<String, Double> domainPerformance = completedInterviews.stream()
-                    .filter(i -> i != null && i.getOverallScore() != null && i.getDomain() != null)
-                    .collect(Collectors.groupingBy(
-                            Interview::getDomain,
-                            Collectors.averagingDouble(Interview::getOverallScore)
-                    ));
-            
-            detailedAnalytics.put("domainPerformance", domainPerformance);
+            detailedAnalytics.put("domainPerformance", interviewService.getDomainPerformance(user));
             
             return ResponseEntity.ok(detailedAnalytics);
         } catch (Exception e) {
@@ -113,6 +104,83 @@ public class AnalyticsController {
         }
     }
 
+    /**
+     * Full completed-interview history, newest first, paged by keyset. Pass the returned
+     * nextCursor to get the following page; it is null on the last one.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<?> getHistory(@RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "20") int limit,
+                                        Authentication authentication) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(401).body("Error: Unauthorized - No valid authentication");
+            }
+            User user = authService.getUserByEmail(authentication.getName());
+            InterviewPage page = interviewService.getInterviewPage(
+                    user, Interview.InterviewStatus.COMPLETED, cursor, Math.max(1, Math.min(limit, 100)));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("items", page.items().stream().map(this::historyEntry).collect(Collectors.toList()));
+            response.put("nextCursor", page.nextCursor());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Where the user's average score in each domain and job role falls among all completed
+     * interviews there, e.g. a percentile of 72 means they beat 72% of them. Deliberately ranked
+     * against interviews rather than users; sampleSize is the number of interviews.
+     */
+    @GetMapping("/percentiles")
+    public ResponseEntity<?> getPercentiles(Authentication authentication) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(401).body("Error: Unauthorized - No valid authentication");
+            }
+            User user = authService.getUserByEmail(authentication.getName());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("domains", percentileEntries(ScorePercentileService.DOMAIN, "domain",
+                    interviewService.getDomainPerformance(user)));
+            response.put("jobRoles", percentileEntries(ScorePercentileService.JOB_ROLE, "jobRole",
+                    interviewService.getJobRolePerformance(user)));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error: " + e.getMessage());
+        }
+    }
+
+    private List<Map<String, Object>> percentileEntries(String dimension, String label, Map<String, Double> averages) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        averages.forEach((value, average) -> percentileService.percentile(dimension, value, average).ifPresent(p -> {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put(label, value);
+            entry.put("averageScore", Math.round(average * 10.0) / 10.0);
+            entry.put("percentile", p.percentile());
+            entry.put("sampleSize", p.sampleSize());
+            entries.add(entry);
+        }));
+        return entries;
+    }
+
+    private Map<String, Object> historyEntry(InterviewSummary interview) {
+        Map<String, Object> interviewData = new HashMap<>();
+        interviewData.put("id", interview.getId());
+        interviewData.put("jobRole", interview.getJobRole() != null ? interview.getJobRole() : "Unknown");
+        interviewData.put("domain", interview.getDomain() != null ? interview.getDomain() : "General");
+        double roundedScore = interview.getOverallScore() != null ? Math.round(interview.getOverallScore() * 10.0) / 10.0 : 0.0;
+        interviewData.put("score", roundedScore);
+        interviewData.put("date", interview.getStartTime());
+        return interviewData;
+    }
+
     @GetMapping("/recalculate")
     @Transactional
     public ResponseEntity<?> recalculateAnalytics(Authentication authentication) {
@@ -139,6 +207,7 @@ public class AnalyticsController {
             analytics.setAverageScore(0.0);
             analytics.setBestScore(0.0);
             analytics.setWorstScore(0.0);
+            analytics.setScoreSum(0.0);
             
             if (completed.size() > 0) {
                 // Get all valid scores (filter out nulls and zeros from incomplete answers)
@@ -156,6 +225,10 @@ public class AnalyticsController {
                     analytics.setBestScore(Math.round(bestScore * 10.0) / 10.0);
                     analytics.setWorstScore(Math.round(worstScore * 10.0) / 10.0);
                 }
+                // Same terms recordCompletion adds: every completed interview, a missing score as 0
+                analytics.setScoreSum(completed.stream()
+                        .mapToDouble(i -> i.getOverallScore() != null ? i.getOverallScore() : 0)
+                        .sum());
                 
                 // Set last interview date
                 completed.stream()
@@ -166,6 +239,7 @@ public class AnalyticsController {
             
             analytics.setLastUpdated(java.time.LocalDateTime.now());
             analyticsService.updateAnalytics(analytics);
+            analyticsService.rebuildDomainStats(user);
             
             System.out.println("Analytics recalculated: Total=" + analytics.getTotalInterviews() + 
                              ", Completed=" + analytics.getCompletedInterviews() + 
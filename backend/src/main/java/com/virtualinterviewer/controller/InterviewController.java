@@ -1,16 +1,20 @@
 package com.virtualinterviewer.controller;
 
+import com.virtualinterviewer.dto.InterviewPage;
 import com.virtualinterviewer.dto.InterviewStartRequest;
 import com.virtualinterviewer.dto.SubmitAnswerRequest;
 import com.virtualinterviewer.model.*;
+import com.virtualinterviewer.service.AnswerEvaluationService;
 import com.virtualinterviewer.service.AuthService;
+import com.virtualinterviewer.service.FeedbackStreamService;
 import com.virtualinterviewer.service.InterviewService;
-import com.virtualinterviewer.service.QuestionService;
+import com.virtualinterviewer.service.InterviewSession;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.Optional;
 
 @RestController
@@ -19,18 +23,21 @@ import java.util.Optional;
 public class InterviewController {
 
     private final InterviewService interviewService;
-    private final QuestionService questionService;
     private final AuthService authService;
+    private final AnswerEvaluationService answerEvaluationService;
+    private final FeedbackStreamService feedbackStreamService;
 
     public InterviewController(InterviewService interviewService,
-                               QuestionService questionService,
-                               AuthService authService) {
+                               AuthService authService,
+                               AnswerEvaluationService answerEvaluationService,
+                               FeedbackStreamService feedbackStreamService) {
         this.interviewService = interviewService;
-        this.questionService = questionService;
         this.authService = authService;
+        this.answerEvaluationService = answerEvaluationService;
+        this.feedbackStreamService = feedbackStreamService;
     }
 
-    @PostMapping("/start")    @Transactional    public ResponseEntity<?> startInterview(@RequestBody InterviewStartRequest request, Authentication authentication) {
+    @PostMapping("/start")    public ResponseEntity<?> startInterview(@RequestBody InterviewStartRequest request, Authentication authentication) {
         try {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(401).body("Error: Unauthorized - No valid authentication");
@@ -50,7 +57,7 @@ public class InterviewController {
         }
     }
 
-    @GetMapping("/{interviewId}")    @Transactional    public ResponseEntity<?> getInterview(@PathVariable Long interviewId) {
+    @GetMapping("/{interviewId}")    @Transactional(readOnly = true)    public ResponseEntity<?> getInterview(@PathVariable Long interviewId) {
         try {
             Optional<Interview> interview = interviewService.getInterviewById(interviewId);
             if (interview.isPresent()) {
@@ -62,15 +69,14 @@ public class InterviewController {
         }
     }
 
-    @GetMapping("/{interviewId}/next-question")    @Transactional    public ResponseEntity<?> getNextQuestion(@PathVariable Long interviewId) {
+    @GetMapping("/{interviewId}/next-question")    public ResponseEntity<?> getNextQuestion(@PathVariable Long interviewId) {
         try {
-            Optional<Interview> interviewOpt = interviewService.getInterviewById(interviewId);
-            if (interviewOpt.isEmpty()) {
+            Optional<InterviewSession> session = interviewService.getSession(interviewId);
+            if (session.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
 
-            Interview interview = interviewOpt.get();
-            InterviewQuestion question = interviewService.getNextQuestion(interview);
+            InterviewQuestion question = interviewService.getNextQuestion(session.get());
 
             if (question == null) {
                 return ResponseEntity.ok("All questions completed");
@@ -82,21 +88,16 @@ public class InterviewController {
         }
     }
 
-    @PostMapping("/{interviewId}/submit-answer")    @Transactional    public ResponseEntity<?> submitAnswer(@PathVariable Long interviewId, @RequestBody SubmitAnswerRequest request) {
+    @PostMapping("/{interviewId}/submit-answer")    public ResponseEntity<?> submitAnswer(@PathVariable Long interviewId, @RequestBody SubmitAnswerRequest request) {
         try {
-            Optional<Interview> interviewOpt = interviewService.getInterviewById(interviewId);
-            if (interviewOpt.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            Optional<InterviewQuestion> questionOpt = questionService.getQuestionById(request.getQuestionId());
-            if (questionOpt.isEmpty()) {
+            Optional<InterviewSession> session = interviewService.getSession(interviewId);
+            if (session.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
 
             Answer answer = interviewService.submitAnswer(
-                    interviewOpt.get(),
-                    questionOpt.get(),
+                    session.get(),
+                    request.getQuestionId(),
                     request.getAnswerText(),
                     request.getAnswerAudio(),
                     request.getTimeTakenSeconds()
@@ -108,7 +109,31 @@ public class InterviewController {
         }
     }
 
-    @PostMapping("/{interviewId}/complete")    @Transactional    public ResponseEntity<?> completeInterview(@PathVariable Long interviewId) {
+    @GetMapping("/{interviewId}/answers/{answerId}/evaluation")
+    public ResponseEntity<?> getAnswerEvaluation(@PathVariable Long interviewId, @PathVariable Long answerId) {
+        try {
+            Optional<Answer> answer = interviewService.getAnswerForInterview(interviewId, answerId);
+            if (answer.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(answerEvaluationService.evaluationStatus(answer.get()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // Pushes a single "evaluation" event once the background scoring of the answer finishes
+    @GetMapping(value = "/{interviewId}/answers/{answerId}/evaluation/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamAnswerEvaluation(@PathVariable Long interviewId, @PathVariable Long answerId) {
+        Optional<Answer> answer = interviewService.getAnswerForInterview(interviewId, answerId);
+        if (answer.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = answerEvaluationService.subscribe(answer.get());
+        return ResponseEntity.ok(emitter);
+    }
+
+    @PostMapping("/{interviewId}/complete")    public ResponseEntity<?> completeInterview(@PathVariable Long interviewId) {
         try {
             Interview interview = interviewService.completeInterview(interviewId);
             return ResponseEntity.ok(interview);
@@ -117,17 +142,53 @@ public class InterviewController {
         }
     }
 
-    @GetMapping("/my-interviews")    @Transactional    public ResponseEntity<?> getMyInterviews(Authentication authentication) {
+    /**
+     * Same as /complete, but streams the AI feedback while it is generated. Each "token" event's data
+     * is JSON, {"text": "..."}, so leading spaces in a delta survive; a final "complete" event
+     * carries the interview summary and the persisted feedback.
+     */
+    @PostMapping(value = "/{interviewId}/complete/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter completeInterviewStreaming(@PathVariable Long interviewId) {
+        return feedbackStreamService.completeInterview(interviewId);
+    }
+
+    /**
+     * The caller's interviews, newest first, one keyset page at a time. The body stays a plain
+     * array; when more interviews exist the cursor for the next page is in X-Next-Cursor.
+     */
+    @GetMapping("/my-interviews")    public ResponseEntity<?> getMyInterviews(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "20") int limit,
+                                                                Authentication authentication) {
         try {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(401).body("Error: Unauthorized - No valid authentication");
             }
             User user = authService.getUserByEmail(authentication.getName());
-            List<Interview> interviews = interviewService.getUserInterviews(user);
-            return ResponseEntity.ok(interviews);
+            InterviewPage page = interviewService.getInterviewPage(user, null, cursor, Math.max(1, Math.min(limit, 100)));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
+
+    // Interview counts per status plus TOTAL, grouped in the database
+    @GetMapping("/my-interviews/stats")
+    public ResponseEntity<?> getMyInterviewStats(Authentication authentication) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(401).body("Error: Unauthorized - No valid authentication");
+            }
+            User user = authService.getUserByEmail(authentication.getName());
+            return ResponseEntity.ok(interviewService.getInterviewCounts(user));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
 }
@@ -1,9 +1,16 @@
 package com.virtualinterviewer.controller;
 
+import com.virtualinterviewer.dto.QuestionPage;
 import com.virtualinterviewer.model.InterviewQuestion;
 import com.virtualinterviewer.service.QuestionService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,17 +19,103 @@ import java.util.Optional;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "http://localhost:3002"})
 public class QuestionController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final QuestionService questionService;
 
     public QuestionController(QuestionService questionService) {
         this.questionService = questionService;
     }
 
+    /**
+     * Active questions in id order, one keyset page at a time. The body stays a plain array; when
+     * more questions exist the cursor for the next page is in X-Next-Cursor. The ETag changes only
+     * when the listed questions do (inserts, admin edits, deactivations), so a client revalidating
+     * an unchanged page gets a 304. Version and page come from the same read-only transaction.
+     */
     @GetMapping("/public/all")
-    public ResponseEntity<?> getAllQuestions() {
+    public ResponseEntity<?> getAllQuestions(@RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "100") int limit,
+                                             WebRequest request) {
         try {
-            List<InterviewQuestion> questions = questionService.getAllActiveQuestions();
-            return ResponseEntity.ok(questions);
+            int pageSize = Math.max(1, Math.min(limit, 500));
+            String pageRequest = cursor + "|" + pageSize;
+            QuestionPage page = questionService.getActiveQuestionPage(cursor, pageSize,
+                    version -> request.checkNotModified(eTag("page", version, pageRequest)));
+            String eTag = eTag("page", page.version(), pageRequest);
+            if (page.items() == null) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache());
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            return response.body(page.items());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // Same questions as NDJSON, every active question after the cursor in one response, streamed from the database
+    @GetMapping(value = "/public/all", produces = NDJSON)
+    public ResponseEntity<?> streamAllQuestions(@RequestParam(required = false) String cursor,
+                                                WebRequest request,
+                                                HttpServletResponse response) {
+        try {
+            String[] eTag = new String[1];
+            boolean[] notModified = new boolean[1];
+            // Headers are set once the version is known, inside the transaction the rows are read in
+            questionService.streamActiveQuestions(cursor, version -> {
+                eTag[0] = eTag("stream", version, String.valueOf(cursor));
+                if (request.checkNotModified(eTag[0])) {
+                    notModified[0] = true;
+                    return false;
+                }
+                response.setContentType(NDJSON);
+                response.setCharacterEncoding("UTF-8");
+                response.setHeader(HttpHeaders.ETAG, eTag[0]);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+                return true;
+            }, response.getOutputStream());
+            if (notModified[0]) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag[0]).cacheControl(CacheControl.noCache()).build();
+            }
+            return null;
+        } catch (Exception e) {
+            if (response.isCommitted()) {
+                // Too late for an error status; the client sees a truncated stream
+                System.err.println("Question stream aborted: " + e.getMessage());
+                return null;
+            }
+            response.setHeader(HttpHeaders.ETAG, null);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, null);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Error: " + e.getMessage());
+        }
+    }
+
+    // Strong: the same version and request always produce the same bytes
+    private static String eTag(String representation, String version, String request) {
+        return "\"" + representation + "-" + version + "-" + Integer.toHexString(request.hashCode()) + "\"";
+    }
+
+    /**
+     * Relevance-ranked full-text search over active questions, optionally narrowed by domain,
+     * job role, type and difficulty. Served from the in-memory index, not the database.
+     */
+    @GetMapping("/public/search")
+    public ResponseEntity<?> searchQuestions(@RequestParam String q,
+                                             @RequestParam(required = false) String domain,
+                                             @RequestParam(required = false) String jobRole,
+                                             @RequestParam(required = false) String type,
+                                             @RequestParam(required = false) Integer difficulty,
+                                             @RequestParam(defaultValue = "0") int offset,
+                                             @RequestParam(defaultValue = "20") int limit) {
+        try {
+            if (q.isBlank()) {
+                return ResponseEntity.badRequest().body("Error: Query must not be empty");
+            }
+            return ResponseEntity.ok(questionService.searchQuestions(q, domain, jobRole, type, difficulty,
+                    Math.max(0, Math.min(offset, 1000)), Math.max(1, Math.min(limit, 100))));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
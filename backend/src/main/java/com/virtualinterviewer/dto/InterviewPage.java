@@ -0,0 +1,7 @@
+package com.virtualinterviewer.dto;
+
+import java.util.List;
+
+// One keyset page of interview history; nextCursor is null on the last page
+public record InterviewPage(List<InterviewSummary> items, String nextCursor) {
+}
@@ -0,0 +1,17 @@
+package com.virtualinterviewer.dto;
+
+import com.virtualinterviewer.model.Interview;
+import java.time.LocalDateTime;
+
+// Column-only view of an interview for history lists; avoids loading the plan and answers
+public interface InterviewSummary {
+    Long getId();
+    String getJobRole();
+    String getDomain();
+    Interview.InterviewStatus getStatus();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+    Integer getTotalQuestions();
+    Integer getQuestionsAnswered();
+    Double getOverallScore();
+}
@@ -0,0 +1,18 @@
+package com.virtualinterviewer.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk question import. Duplicates are rows whose content was already in the bank
+ * (or earlier in the same file); errors list the rejected rows by line, up to a cap.
+ */
+public record QuestionImportReport(long rows,
+                                   long imported,
+                                   long duplicates,
+                                   long failed,
+                                   List<RowError> errors,
+                                   boolean errorsTruncated,
+                                   long durationMs) {
+
+    public record RowError(long line, String error) {}
+}
@@ -0,0 +1,12 @@
+package com.virtualinterviewer.dto;
+
+import com.virtualinterviewer.model.InterviewQuestion;
+
+import java.util.List;
+
+/**
+ * One keyset page of active questions in id order, with the question bank version it was read at.
+ * nextCursor is null on the last page; items is null when the caller already had this version.
+ */
+public record QuestionPage(String version, List<InterviewQuestion> items, String nextCursor) {
+}
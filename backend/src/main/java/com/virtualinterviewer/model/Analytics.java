@@ -12,7 +12,7 @@ public class Analytics {
     private Long id;
 
     @OneToOne
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
 
     @Column(name = "total_interviews")
@@ -21,6 +21,10 @@ public class Analytics {
     @Column(name = "completed_interviews")
     private Integer completedInterviews = 0;
 
+    // Running total behind averageScore, so each completion updates the average exactly
+    @Column(name = "score_sum")
+    private Double scoreSum = 0.0;
+
     @Column(name = "average_score")
     private Double averageScore = 0.0;
 
@@ -39,13 +43,6 @@ public class Analytics {
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
 
-    // Optional free-form topic summaries
-    @Column(name = "topic_strengths", columnDefinition = "TEXT")
-    private String topicStrengths;
-
-    @Column(name = "topic_weaknesses", columnDefinition = "TEXT")
-    private String topicWeaknesses;
-
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -112,6 +109,14 @@ public class Analytics {
         this.averageScore = averageScore;
     }
 
+    public Double getScoreSum() {
+        return scoreSum;
+    }
+
+    public void setScoreSum(Double scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+
     public Double getBestScore() {
         return bestScore;
     }
@@ -151,20 +156,4 @@ public class Analytics {
     public void setLastUpdated(LocalDateTime lastUpdated) {
         this.lastUpdated = lastUpdated;
     }
-
-    public String getTopicStrengths() {
-        return topicStrengths;
-    }
-
-    public void setTopicStrengths(String topicStrengths) {
-        this.topicStrengths = topicStrengths;
-    }
-
-    public String getTopicWeaknesses() {
-        return topicWeaknesses;
-    }
-
-    public void setTopicWeaknesses(String topicWeaknesses) {
-        this.topicWeaknesses = topicWeaknesses;
-    }
 }
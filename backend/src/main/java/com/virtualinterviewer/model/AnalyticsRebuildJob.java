@@ -0,0 +1,83 @@
+package com.virtualinterviewer.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Progress and checkpoint of a platform-wide analytics rebuild; users up to checkpointUserId are done
+@Entity
+@Table(name = "analytics_rebuild_jobs")
+public class AnalyticsRebuildJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.RUNNING;
+
+    @Column(name = "checkpoint_user_id", nullable = false)
+    private Long checkpointUserId = 0L;
+
+    @Column(name = "users_processed", nullable = false)
+    private Long usersProcessed = 0L;
+
+    @Column(name = "interviews_processed", nullable = false)
+    private Long interviewsProcessed = 0L;
+
+    @Column(name = "total_users")
+    private Long totalUsers;
+
+    @Column(name = "failed_chunks", nullable = false)
+    private Integer failedChunks = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED, CANCELLED, INTERRUPTED
+    }
+
+    public AnalyticsRebuildJob() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Long getCheckpointUserId() { return checkpointUserId; }
+    public void setCheckpointUserId(Long checkpointUserId) { this.checkpointUserId = checkpointUserId; }
+
+    public Long getUsersProcessed() { return usersProcessed; }
+    public void setUsersProcessed(Long usersProcessed) { this.usersProcessed = usersProcessed; }
+
+    public Long getInterviewsProcessed() { return interviewsProcessed; }
+    public void setInterviewsProcessed(Long interviewsProcessed) { this.interviewsProcessed = interviewsProcessed; }
+
+    public Long getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(Long totalUsers) { this.totalUsers = totalUsers; }
+
+    public Integer getFailedChunks() { return failedChunks; }
+    public void setFailedChunks(Integer failedChunks) { this.failedChunks = failedChunks; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
 @Table(name = "answers")
 public class Answer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "answers_ids")
+    @TableGenerator(name = "answers_ids", table = "id_generators", pkColumnName = "segment",
+            valueColumnName = "next_val", pkColumnValue = "answers", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -37,6 +39,14 @@ public class Answer {
 
     private boolean isCorrect;
 
+    // PENDING while the AI evaluation runs in the background
+    @Enumerated(EnumType.STRING)
+    private EvaluationStatus evaluationStatus = EvaluationStatus.COMPLETED;
+
+    public enum EvaluationStatus {
+        PENDING, COMPLETED, FALLBACK
+    }
+
     public Answer() {}
 
     public Long getId() { return id; }
@@ -68,4 +78,7 @@ public class Answer {
 
     public boolean isCorrect() { return isCorrect; }
     public void setCorrect(boolean correct) { isCorrect = correct; }
+
+    public EvaluationStatus getEvaluationStatus() { return evaluationStatus; }
+    public void setEvaluationStatus(EvaluationStatus evaluationStatus) { this.evaluationStatus = evaluationStatus; }
 }
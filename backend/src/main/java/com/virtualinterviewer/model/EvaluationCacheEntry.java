@@ -0,0 +1,35 @@
+package com.virtualinterviewer.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Persistent backing row for the answer-evaluation cache, keyed by the SHA-256 of the normalized inputs
+@Entity
+@Table(name = "evaluation_cache")
+public class EvaluationCacheEntry {
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String evaluation;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public EvaluationCacheEntry() {}
+
+    public EvaluationCacheEntry(String cacheKey, String evaluation) {
+        this.cacheKey = cacheKey;
+        this.evaluation = evaluation;
+    }
+
+    public String getCacheKey() { return cacheKey; }
+    public void setCacheKey(String cacheKey) { this.cacheKey = cacheKey; }
+
+    public String getEvaluation() { return evaluation; }
+    public void setEvaluation(String evaluation) { this.evaluation = evaluation; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
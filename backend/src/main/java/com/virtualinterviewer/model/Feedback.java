@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
 @Table(name = "feedback")
 public class Feedback {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "feedback_ids")
+    @TableGenerator(name = "feedback_ids", table = "id_generators", pkColumnName = "segment",
+            valueColumnName = "next_val", pkColumnValue = "feedback", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -7,10 +7,15 @@ import java.util.List;
 import java.util.ArrayList;
 
 @Entity
-@Table(name = "interviews")
+@Table(name = "interviews", indexes = {
+        @Index(name = "idx_interviews_user_start", columnList = "user_id, start_time, id"),
+        @Index(name = "idx_interviews_user_status_start", columnList = "user_id, status, start_time, id")
+})
 public class Interview {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "interviews_ids")
+    @TableGenerator(name = "interviews_ids", table = "id_generators", pkColumnName = "segment",
+            valueColumnName = "next_val", pkColumnValue = "interviews", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -55,6 +60,11 @@ public class Interview {
     @Column(name = "question_id")
     private List<Long> questionIds = new ArrayList<>();
 
+    // Cursor into questionIds, advanced by submitAnswer; null nextQuestionId means the plan is done
+    private Integer nextQuestionIndex = 0;
+
+    private Long nextQuestionId;
+
     public enum InterviewStatus {
         IN_PROGRESS, COMPLETED, PAUSED, ABANDONED
     }
@@ -102,4 +112,10 @@ public class Interview {
 
     public List<Long> getQuestionIds() { return questionIds; }
     public void setQuestionIds(List<Long> questionIds) { this.questionIds = questionIds; }
+
+    public Integer getNextQuestionIndex() { return nextQuestionIndex; }
+    public void setNextQuestionIndex(Integer nextQuestionIndex) { this.nextQuestionIndex = nextQuestionIndex; }
+
+    public Long getNextQuestionId() { return nextQuestionId; }
+    public void setNextQuestionId(Long nextQuestionId) { this.nextQuestionId = nextQuestionId; }
 }
@@ -1,13 +1,28 @@
 package com.virtualinterviewer.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
 
 @Entity
-@Table(name = "interview_questions")
+@Table(name = "interview_questions", indexes = {
+        @Index(name = "uk_interview_questions_content_hash", columnList = "content_hash", unique = true),
+        @Index(name = "idx_interview_questions_active_id", columnList = "is_active, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "questions")
 public class InterviewQuestion {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "interview_questions_ids")
+    @TableGenerator(name = "interview_questions_ids", table = "id_generators", pkColumnName = "segment",
+            valueColumnName = "next_val", pkColumnValue = "interview_questions", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, columnDefinition = "TEXT")
@@ -41,12 +56,38 @@ public class InterviewQuestion {
     @Column(nullable = false)
     private String createdBy;
 
+    // SHA-256 of the normalized content while active; cleared on deactivation so the same content can be added again
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     public enum QuestionType {
         TECHNICAL, BEHAVIORAL, CODING
     }
 
     public InterviewQuestion() {}
 
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        contentHash = isActive ? contentHashOf(question, domain, jobRole, type) : null;
+    }
+
+    // Text compared ignoring case and whitespace runs; domain and job role ignoring case
+    public static String contentHashOf(String question, String domain, String jobRole, QuestionType type) {
+        String content = normalize(question) + "\n" + normalize(domain) + "\n" + normalize(jobRole) + "\n" + type;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -82,4 +123,6 @@ public class InterviewQuestion {
 
     public String getCreatedBy() { return createdBy; }
     public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+
+    public String getContentHash() { return contentHash; }
 }
@@ -0,0 +1,43 @@
+package com.virtualinterviewer.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A pre-generated question waiting to be drawn; the row is deleted when an interview claims it
+@Entity
+@Table(name = "question_pool")
+public class PooledQuestion {
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(nullable = false)
+    private String domain;
+
+    @Column(name = "job_role", nullable = false)
+    private String jobRole;
+
+    // Easy, Medium or Hard
+    @Column(nullable = false, length = 10)
+    private String difficulty;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public PooledQuestion() {}
+
+    public Long getQuestionId() { return questionId; }
+    public void setQuestionId(Long questionId) { this.questionId = questionId; }
+
+    public String getDomain() { return domain; }
+    public void setDomain(String domain) { this.domain = domain; }
+
+    public String getJobRole() { return jobRole; }
+    public void setJobRole(String jobRole) { this.jobRole = jobRole; }
+
+    public String getDifficulty() { return difficulty; }
+    public void setDifficulty(String difficulty) { this.difficulty = difficulty; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,31 @@
+package com.virtualinterviewer.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Single row counting admin edits and deactivations of questions; part of the public listings' ETag
+@Entity
+@Table(name = "question_bank_version")
+public class QuestionBankVersion {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+
+    public QuestionBankVersion() {}
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
+}
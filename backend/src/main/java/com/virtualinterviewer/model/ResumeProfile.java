@@ -0,0 +1,35 @@
+package com.virtualinterviewer.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Condensed skills/experience profile of a resume, keyed by the SHA-256 of the normalized resume text
+@Entity
+@Table(name = "resume_profiles")
+public class ResumeProfile {
+    @Id
+    @Column(name = "resume_hash", length = 64)
+    private String resumeHash;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String profile;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public ResumeProfile() {}
+
+    public ResumeProfile(String resumeHash, String profile) {
+        this.resumeHash = resumeHash;
+        this.profile = profile;
+    }
+
+    public String getResumeHash() { return resumeHash; }
+    public void setResumeHash(String resumeHash) { this.resumeHash = resumeHash; }
+
+    public String getProfile() { return profile; }
+    public void setProfile(String profile) { this.profile = profile; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,84 @@
+package com.virtualinterviewer.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Snapshot of one bucket of a platform-wide score histogram, keyed by dimension (domain or job role) and value
+@Entity
+@Table(name = "score_histogram_buckets")
+@IdClass(ScoreHistogramBucket.Key.class)
+public class ScoreHistogramBucket {
+    @Id
+    @Column(length = 20)
+    private String dimension;
+
+    @Id
+    @Column(name = "dimension_value")
+    private String dimensionValue;
+
+    // Whole score points, 0 to 100
+    @Id
+    private Integer bucket;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount = 0L;
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+
+    public ScoreHistogramBucket() {}
+
+    public ScoreHistogramBucket(String dimension, String dimensionValue, Integer bucket, Long sampleCount) {
+        this.dimension = dimension;
+        this.dimensionValue = dimensionValue;
+        this.bucket = bucket;
+        this.sampleCount = sampleCount;
+        this.lastUpdated = LocalDateTime.now();
+    }
+
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+
+    public String getDimensionValue() { return dimensionValue; }
+    public void setDimensionValue(String dimensionValue) { this.dimensionValue = dimensionValue; }
+
+    public Integer getBucket() { return bucket; }
+    public void setBucket(Integer bucket) { this.bucket = bucket; }
+
+    public Long getSampleCount() { return sampleCount; }
+    public void setSampleCount(Long sampleCount) { this.sampleCount = sampleCount; }
+
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
+
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String dimension;
+        private String dimensionValue;
+        private Integer bucket;
+
+        public Key() {}
+
+        public Key(String dimension, String dimensionValue, Integer bucket) {
+            this.dimension = dimension;
+            this.dimensionValue = dimensionValue;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(dimension, key.dimension) && Objects.equals(dimensionValue, key.dimensionValue)
+                    && Objects.equals(bucket, key.bucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, dimensionValue, bucket);
+        }
+    }
+}
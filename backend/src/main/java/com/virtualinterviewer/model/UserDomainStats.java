@@ -0,0 +1,91 @@
+package com.virtualinterviewer.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Running per-user, per-domain answer score totals; strengths and weaknesses are derived from these at read time
+@Entity
+@Table(name = "user_domain_stats")
+@IdClass(UserDomainStats.Key.class)
+public class UserDomainStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(length = 100)
+    private String domain;
+
+    @Column(name = "answer_count", nullable = false)
+    private Long answerCount = 0L;
+
+    @Column(name = "score_sum", nullable = false)
+    private Double scoreSum = 0.0;
+
+    @Column(name = "score_sum_sq", nullable = false)
+    private Double scoreSumSq = 0.0;
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+
+    public UserDomainStats() {}
+
+    public double getMean() {
+        return answerCount > 0 ? scoreSum / answerCount : 0.0;
+    }
+
+    // Population standard deviation of the answer scores
+    public double getStdDev() {
+        if (answerCount == 0) {
+            return 0.0;
+        }
+        double mean = getMean();
+        return Math.sqrt(Math.max(0.0, scoreSumSq / answerCount - mean * mean));
+    }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getDomain() { return domain; }
+    public void setDomain(String domain) { this.domain = domain; }
+
+    public Long getAnswerCount() { return answerCount; }
+    public void setAnswerCount(Long answerCount) { this.answerCount = answerCount; }
+
+    public Double getScoreSum() { return scoreSum; }
+    public void setScoreSum(Double scoreSum) { this.scoreSum = scoreSum; }
+
+    public Double getScoreSumSq() { return scoreSumSq; }
+    public void setScoreSumSq(Double scoreSumSq) { this.scoreSumSq = scoreSumSq; }
+
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
+
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long userId;
+        private String domain;
+
+        public Key() {}
+
+        public Key(Long userId, String domain) {
+            this.userId = userId;
+            this.domain = domain;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(domain, key.domain);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, domain);
+        }
+    }
+}
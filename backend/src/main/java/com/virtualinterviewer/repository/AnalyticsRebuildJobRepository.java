@@ -0,0 +1,13 @@
+package com.virtualinterviewer.repository;
+
+import com.virtualinterviewer.model.AnalyticsRebuildJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AnalyticsRebuildJobRepository extends JpaRepository<AnalyticsRebuildJob, Long> {
+    Optional<AnalyticsRebuildJob> findTopByOrderByIdDesc();
+    List<AnalyticsRebuildJob> findByStatus(AnalyticsRebuildJob.Status status);
+}
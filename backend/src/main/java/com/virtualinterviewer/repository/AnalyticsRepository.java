@@ -2,11 +2,42 @@ package com.virtualinterviewer.repository;
 
 import com.virtualinterviewer.model.Analytics;
 import com.virtualinterviewer.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface AnalyticsRepository extends JpaRepository<Analytics, Long> {
     Optional<Analytics> findByUser(User user);
+    Optional<Analytics> findByUserId(Long userId);
+
+    /**
+     * Folds one completed interview into the user's running totals in a single statement.
+     * MySQL evaluates the SET list left to right against already-updated columns, so
+     * everything that reads the old sum or count comes before those columns are assigned.
+     */
+    @Modifying
+    // Declaring the table written keeps Hibernate from evicting every second-level cache region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "analytics"))
+    @Query(value = "insert into analytics (user_id, total_interviews, completed_interviews, score_sum, " +
+            "average_score, best_score, worst_score, last_interview_date, created_at, last_updated) " +
+            "values (:userId, 1, 1, :score, :score, :score, :score, :now, :now, :now) " +
+            "on duplicate key update " +
+            "average_score = (coalesce(score_sum, 0) + :score) / (coalesce(completed_interviews, 0) + 1), " +
+            "best_score = case when coalesce(completed_interviews, 0) = 0 or :score > best_score then :score else best_score end, " +
+            "worst_score = case when coalesce(completed_interviews, 0) = 0 or :score < worst_score then :score else worst_score end, " +
+            "score_sum = coalesce(score_sum, 0) + :score, " +
+            "completed_interviews = coalesce(completed_interviews, 0) + 1, " +
+            "total_interviews = coalesce(total_interviews, 0) + 1, " +
+            "last_interview_date = :now, " +
+            "last_updated = :now",
+            nativeQuery = true)
+    int recordCompletion(@Param("userId") Long userId, @Param("score") double score, @Param("now") LocalDateTime now);
 }
@@ -4,6 +4,8 @@ import com.virtualinterviewer.model.Answer;
 import com.virtualinterviewer.model.Interview;
 import com.virtualinterviewer.model.InterviewQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -11,4 +13,11 @@ import java.util.List;
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
     List<Answer> findByInterview(Interview interview);
     boolean existsByInterviewAndQuestion(Interview interview, InterviewQuestion question);
+    List<Answer> findByEvaluationStatus(Answer.EvaluationStatus evaluationStatus);
+
+    // Per-domain count, sum and sum of squares of a user's scored answers in completed interviews
+    @Query("select q.domain, count(a), sum(a.score), sum(a.score * a.score) from Answer a join a.question q " +
+           "where a.interview.user.id = :userId and a.interview.status = :status and a.score is not null " +
+           "group by q.domain")
+    List<Object[]> aggregateScoresByDomain(@Param("userId") Long userId, @Param("status") Interview.InterviewStatus status);
 }
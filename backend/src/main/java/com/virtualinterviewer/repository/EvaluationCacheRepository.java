@@ -0,0 +1,24 @@
+package com.virtualinterviewer.repository;
+
+import com.virtualinterviewer.model.EvaluationCacheEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+
+@Repository
+public interface EvaluationCacheRepository extends JpaRepository<EvaluationCacheEntry, String> {
+
+    // Concurrent writers of the same key overwrite each other instead of failing on the primary key
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "evaluation_cache"))
+    @Query(value = "insert into evaluation_cache (cache_key, evaluation, created_at) values (:cacheKey, :evaluation, :now) " +
+            "on duplicate key update evaluation = :evaluation, created_at = :now",
+            nativeQuery = true)
+    int upsert(@Param("cacheKey") String cacheKey, @Param("evaluation") String evaluation, @Param("now") LocalDateTime now);
+}
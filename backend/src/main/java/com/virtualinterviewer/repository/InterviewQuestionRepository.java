@@ -1,14 +1,74 @@
 package com.virtualinterviewer.repository;
 
 import com.virtualinterviewer.model.InterviewQuestion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface InterviewQuestionRepository extends JpaRepository<InterviewQuestion, Long> {
-    List<InterviewQuestion> findByDomainAndJobRole(String domain, String jobRole);
-    List<InterviewQuestion> findByTypeAndDomain(String type, String domain);
-    List<InterviewQuestion> findAllByIsActiveTrue();
-    List<InterviewQuestion> findByDomainAndDifficultyAndIsActiveTrue(String domain, Integer difficulty);
+    /*
+     * Question-list reads go through the query cache. They are native so they can name their own
+     * query space: only question_bank_version, bumped by admin edits and deactivations, invalidates
+     * them. Inserts from interviews and the pool leave them cached; new questions appear once the
+     * entry expires (interview.question-cache.query-ttl-seconds).
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "question_bank_version")})
+    @Query(value = "select * from interview_questions where domain = :domain and job_role = :jobRole", nativeQuery = true)
+    List<InterviewQuestion> findByDomainAndJobRole(@Param("domain") String domain, @Param("jobRole") String jobRole);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "question_bank_version")})
+    @Query(value = "select * from interview_questions where type = :type and domain = :domain", nativeQuery = true)
+    List<InterviewQuestion> findByTypeAndDomain(@Param("type") String type, @Param("domain") String domain);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "question_bank_version")})
+    @Query(value = "select * from interview_questions where domain = :domain and difficulty = :difficulty and is_active = true",
+            nativeQuery = true)
+    List<InterviewQuestion> findByDomainAndDifficultyAndIsActiveTrue(@Param("domain") String domain, @Param("difficulty") Integer difficulty);
+
+    // Not cached: /questions/public/all revalidates pages by ETag instead
+    List<InterviewQuestion> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable page);
+
+    // Inputs of the question bank version: any insert raises the count, whichever instance's id block it used
+    @Query("select count(q), coalesce(max(q.id), 0) from InterviewQuestion q where q.isActive = true")
+    List<Object[]> findActiveCountAndMaxId();
+
+    // Indexed fields only, in id order, for building the search index a page at a time
+    @Query("select q.id, q.question, q.domain, q.jobRole, q.type, q.difficulty, q.isActive from InterviewQuestion q " +
+           "where q.id > :afterId order by q.id")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable page);
+
+    @Query("select q.id from InterviewQuestion q where q.contentHash = :contentHash")
+    Long findIdByContentHash(@Param("contentHash") String contentHash);
+
+    @Query("select q.id, q.contentHash from InterviewQuestion q where q.contentHash is not null and q.id > :afterId order by q.id")
+    List<Object[]> findContentHashesAfter(@Param("afterId") Long afterId, Pageable page);
+
+    // Read on the primary before stored ids are reused; contentHash is null once a row is deactivated
+    @Query("select q.id, q.contentHash from InterviewQuestion q where q.id in :ids")
+    List<Object[]> findContentHashesByIds(@Param("ids") Collection<Long> ids);
+
+    // Active rows saved before content hashes existed
+    @Query("select q.id, q.question, q.domain, q.jobRole, q.type from InterviewQuestion q " +
+           "where q.contentHash is null and q.isActive = true and q.id > :afterId order by q.id")
+    List<Object[]> findUnhashedAfter(@Param("afterId") Long afterId, Pageable page);
+
+    @Modifying
+    @Query("update InterviewQuestion q set q.contentHash = :contentHash where q.id = :id")
+    int updateContentHash(@Param("id") Long id, @Param("contentHash") String contentHash);
+
+    @Modifying
+    @Query("update InterviewQuestion q set q.isActive = false where q.id in :ids")
+    int deactivate(@Param("ids") List<Long> ids);
 }
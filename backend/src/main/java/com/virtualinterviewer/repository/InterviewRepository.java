@@ -1,13 +1,95 @@
 package com.virtualinterviewer.repository;
 
+import com.virtualinterviewer.dto.InterviewSummary;
 import com.virtualinterviewer.model.Interview;
 import com.virtualinterviewer.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface InterviewRepository extends JpaRepository<Interview, Long> {
     List<Interview> findByUser(User user);
     List<Interview> findByUserOrderByStartTimeDesc(User user);
+
+    String SUMMARY_COLUMNS = "select i.id as id, i.jobRole as jobRole, i.domain as domain, i.status as status, " +
+            "i.startTime as startTime, i.endTime as endTime, i.totalQuestions as totalQuestions, " +
+            "i.questionsAnswered as questionsAnswered, i.overallScore as overallScore from Interview i ";
+
+    // Keyset pages, newest first: the first page, then everything strictly after the (startTime, id) cursor
+    @Query(SUMMARY_COLUMNS + "where i.user = :user order by i.startTime desc, i.id desc")
+    List<InterviewSummary> findSummaries(@Param("user") User user, Pageable page);
+
+    @Query(SUMMARY_COLUMNS + "where i.user = :user " +
+           "and (i.startTime < :startTime or (i.startTime = :startTime and i.id < :id)) " +
+           "order by i.startTime desc, i.id desc")
+    List<InterviewSummary> findSummariesBefore(@Param("user") User user,
+                                               @Param("startTime") LocalDateTime startTime,
+                                               @Param("id") Long id,
+                                               Pageable page);
+
+    @Query(SUMMARY_COLUMNS + "where i.user = :user and i.status = :status order by i.startTime desc, i.id desc")
+    List<InterviewSummary> findSummariesByStatus(@Param("user") User user,
+                                                 @Param("status") Interview.InterviewStatus status,
+                                                 Pageable page);
+
+    @Query(SUMMARY_COLUMNS + "where i.user = :user and i.status = :status " +
+           "and (i.startTime < :startTime or (i.startTime = :startTime and i.id < :id)) " +
+           "order by i.startTime desc, i.id desc")
+    List<InterviewSummary> findSummariesByStatusBefore(@Param("user") User user,
+                                                       @Param("status") Interview.InterviewStatus status,
+                                                       @Param("startTime") LocalDateTime startTime,
+                                                       @Param("id") Long id,
+                                                       Pageable page);
+
+    // Average overall score per domain over the user's completed interviews
+    @Query("select i.domain, avg(i.overallScore) from Interview i " +
+           "where i.user = :user and i.status = :status and i.domain is not null and i.overallScore is not null " +
+           "group by i.domain")
+    List<Object[]> averageScoreByDomain(@Param("user") User user, @Param("status") Interview.InterviewStatus status);
+
+    // Average overall score per job role over the user's completed interviews
+    @Query("select i.jobRole, avg(i.overallScore) from Interview i " +
+           "where i.user = :user and i.status = :status and i.jobRole is not null and i.overallScore is not null " +
+           "group by i.jobRole")
+    List<Object[]> averageScoreByJobRole(@Param("user") User user, @Param("status") Interview.InterviewStatus status);
+
+    // Platform-wide count of interviews per domain and whole score point, to seed the percentile histograms
+    @Query("select i.domain, floor(i.overallScore), count(i) from Interview i " +
+           "where i.status = :status and i.domain is not null and i.overallScore is not null " +
+           "group by i.domain, floor(i.overallScore)")
+    List<Object[]> countScoresByDomain(@Param("status") Interview.InterviewStatus status);
+
+    @Query("select i.jobRole, floor(i.overallScore), count(i) from Interview i " +
+           "where i.status = :status and i.jobRole is not null and i.overallScore is not null " +
+           "group by i.jobRole, floor(i.overallScore)")
+    List<Object[]> countScoresByJobRole(@Param("status") Interview.InterviewStatus status);
+
+    @Query("select count(distinct i.user.id) from Interview i where i.user.id > :afterUserId")
+    long countUsersAfter(@Param("afterUserId") Long afterUserId);
+
+    @Query("select i.status, count(i) from Interview i where i.user = :user group by i.status")
+    List<Object[]> countByStatus(@Param("user") User user);
+
+    // 0 unless the interview was still in the expected status, so only one request moves it on
+    @Modifying
+    @Query("update Interview i set i.status = :status where i.id = :id and i.status = :expected")
+    int updateStatusIf(@Param("id") Long id,
+                       @Param("expected") Interview.InterviewStatus expected,
+                       @Param("status") Interview.InterviewStatus status);
+
+    // Moves the answer cursor on only if no other request has moved it since expectedAnswered was read
+    @Modifying
+    @Query("update Interview i set i.questionsAnswered = :expectedAnswered + 1, " +
+           "i.nextQuestionIndex = :expectedAnswered + 1, i.nextQuestionId = :nextQuestionId " +
+           "where i.id = :id and i.status = :status and i.questionsAnswered = :expectedAnswered")
+    int advanceCursor(@Param("id") Long id,
+                      @Param("expectedAnswered") int expectedAnswered,
+                      @Param("nextQuestionId") Long nextQuestionId,
+                      @Param("status") Interview.InterviewStatus status);
 }
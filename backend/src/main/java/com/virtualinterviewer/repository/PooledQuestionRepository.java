@@ -0,0 +1,40 @@
+package com.virtualinterviewer.repository;
+
+import com.virtualinterviewer.model.PooledQuestion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Writes name only question_pool, so drawing from the pool leaves the cached question lists alone
+@Repository
+public interface PooledQuestionRepository extends JpaRepository<PooledQuestion, Long> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "question_pool"))
+    @Query(value = "insert into question_pool (question_id, domain, job_role, difficulty, created_at) " +
+            "values (:questionId, :domain, :jobRole, :difficulty, :now)",
+            nativeQuery = true)
+    int insertEntry(@Param("questionId") Long questionId,
+                    @Param("domain") String domain,
+                    @Param("jobRole") String jobRole,
+                    @Param("difficulty") String difficulty,
+                    @Param("now") LocalDateTime now);
+
+    // 0 when the entry is gone, e.g. another instance drew it first
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "question_pool"))
+    @Query(value = "delete from question_pool where question_id = :questionId", nativeQuery = true)
+    int deleteEntry(@Param("questionId") Long questionId);
+
+    // Entries whose question is still active: question id, domain, job role, difficulty label
+    @Query("select p.questionId, p.domain, p.jobRole, p.difficulty from PooledQuestion p, InterviewQuestion q " +
+           "where q.id = p.questionId and q.isActive = true")
+    List<Object[]> findActiveEntries();
+}
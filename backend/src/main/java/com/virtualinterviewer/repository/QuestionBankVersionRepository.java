@@ -0,0 +1,25 @@
+package com.virtualinterviewer.repository;
+
+import com.virtualinterviewer.model.QuestionBankVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuestionBankVersionRepository extends JpaRepository<QuestionBankVersion, Integer> {
+
+    // Called in the same transaction as an admin edit or deactivation, so the new version commits with it
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "question_bank_version"))
+    @Query(value = "insert into question_bank_version (id, version, last_updated) values (" + QuestionBankVersion.ID + ", 1, now()) " +
+            "on duplicate key update version = version + 1, last_updated = now()",
+            nativeQuery = true)
+    int increment();
+
+    @Query("select v.version from QuestionBankVersion v where v.id = " + QuestionBankVersion.ID)
+    Long findCurrent();
+}
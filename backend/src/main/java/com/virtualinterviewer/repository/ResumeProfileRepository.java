@@ -0,0 +1,24 @@
+package com.virtualinterviewer.repository;
+
+import com.virtualinterviewer.model.ResumeProfile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+
+@Repository
+public interface ResumeProfileRepository extends JpaRepository<ResumeProfile, String> {
+
+    // Two interviews condensing the same resume at once both succeed; the first stored profile is kept
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "resume_profiles"))
+    @Query(value = "insert into resume_profiles (resume_hash, profile, created_at) values (:resumeHash, :profile, :now) " +
+            "on duplicate key update resume_hash = resume_hash",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("resumeHash") String resumeHash, @Param("profile") String profile, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,37 @@
+package com.virtualinterviewer.repository;
+
+import com.virtualinterviewer.model.ScoreHistogramBucket;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+
+@Repository
+public interface ScoreHistogramBucketRepository extends JpaRepository<ScoreHistogramBucket, ScoreHistogramBucket.Key> {
+
+    // Adds counts recorded since the last snapshot; other instances add theirs to the same rows
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "score_histogram_buckets"))
+    @Query(value = "insert into score_histogram_buckets (dimension, dimension_value, bucket, sample_count, last_updated) " +
+            "values (:dimension, :value, :bucket, :delta, :now) " +
+            "on duplicate key update sample_count = sample_count + :delta, last_updated = :now",
+            nativeQuery = true)
+    int addSamples(@Param("dimension") String dimension,
+                   @Param("value") String value,
+                   @Param("bucket") int bucket,
+                   @Param("delta") long delta,
+                   @Param("now") LocalDateTime now);
+
+    // Plain insert, so it fails on the key when the row already exists; used for the seed guard row
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "score_histogram_buckets"))
+    @Query(value = "insert into score_histogram_buckets (dimension, dimension_value, bucket, sample_count, last_updated) " +
+            "values (:dimension, :value, 0, 0, :now)",
+            nativeQuery = true)
+    int insertMarker(@Param("dimension") String dimension, @Param("value") String value, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,36 @@
+package com.virtualinterviewer.repository;
+
+import com.virtualinterviewer.model.UserDomainStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserDomainStatsRepository extends JpaRepository<UserDomainStats, UserDomainStats.Key> {
+    List<UserDomainStats> findByUserId(Long userId);
+
+    // Adds one interview's answer scores for a domain to the user's running totals
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_domain_stats"))
+    @Query(value = "insert into user_domain_stats (user_id, domain, answer_count, score_sum, score_sum_sq, last_updated) " +
+            "values (:userId, :domain, :count, :sum, :sumSq, :now) " +
+            "on duplicate key update " +
+            "answer_count = answer_count + :count, " +
+            "score_sum = score_sum + :sum, " +
+            "score_sum_sq = score_sum_sq + :sumSq, " +
+            "last_updated = :now",
+            nativeQuery = true)
+    int addScores(@Param("userId") Long userId,
+                  @Param("domain") String domain,
+                  @Param("count") long count,
+                  @Param("sum") double sum,
+                  @Param("sumSq") double sumSq,
+                  @Param("now") LocalDateTime now);
+}
@@ -1,125 +1,143 @@
 package com.virtualinterviewer.service;
 
-import com.theokanning.openai.completion.chat.ChatCompletionRequest;
-import com.theokanning.openai.completion.chat.ChatMessage;
-import com.theokanning.openai.completion.chat.ChatMessageRole;
-import com.theokanning.openai.service.OpenAiService;
-import org.springframework.beans.factory.annotation.Value;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 public class AIService {
 
-    @Value("${openai.api-key}")
-    private String apiKey;
-
-    @Value("${openai.model}")
-    private String model;
-
-    private OpenAiService getOpenAiService() {
-        return new OpenAiService(apiKey);
+    private final LlmProvider llmProvider;
+    private final MeterRegistry meterRegistry;
+    private final EvaluationCache evaluationCache;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Environment environment;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public AIService(LlmProvider llmProvider,
+                     MeterRegistry meterRegistry,
+                     EvaluationCache evaluationCache,
+                     AdaptiveConcurrencyLimiter concurrencyLimiter,
+                     Environment environment) {
+        this.llmProvider = llmProvider;
+        this.meterRegistry = meterRegistry;
+        this.evaluationCache = evaluationCache;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.environment = environment;
     }
 
     public String generateQuestion(String jobRole, String domain, String difficulty, String resumeContent) {
-        try {
-            OpenAiService service = getOpenAiService();
-
-            String prompt = String.format(
-                    "Generate a challenging %s interview question for a %s position in the %s domain. " +
-                    "Difficulty level: %s. " +
-                    (resumeContent != null ? "Consider the candidate's resume: %s. " : "") +
-                    "Provide only the question without any numbering or extra text.",
-                    domain, jobRole, domain, difficulty, resumeContent != null ? resumeContent : ""
-            );
+        return generateQuestion(jobRole, domain, difficulty, resumeContent, 0);
+    }
 
-            ChatCompletionRequest request = ChatCompletionRequest.builder()
-                    .model(model)
-                    .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
-                    .temperature(0.7)
-                    .maxTokens(200)
-                    .build();
-
-            String question = service.createChatCompletion(request)
-                    .getChoices()
-                    .get(0)
-                    .getMessage()
-                    .getContent();
-
-            service.shutdownExecutor();
-            return question;
+    // Gives up after timeoutMs when positive, so a plan's calls end with its deadline
+    public String generateQuestion(String jobRole, String domain, String difficulty, String resumeContent, long timeoutMs) {
+        try {
+            return call("question", () -> llmProvider.generateQuestion(jobRole, domain, difficulty, resumeContent, timeoutMs));
         } catch (Exception e) {
-            System.err.println("OpenAI API error in generateQuestion: " + e.getMessage());
+            System.err.println("LLM provider error in generateQuestion: " + e.getMessage());
             throw new RuntimeException("Failed to generate question via AI", e);
         }
     }
 
+    /**
+     * Generates a whole interview plan in one completion. The result has one slot per requested
+     * difficulty; slots the model left out or answered with invalid items are null.
+     */
+    public String[] generateQuestionBatch(String jobRole, String domain, List<String> difficulties, String resumeContent,
+                                          long timeoutMs) {
+        try {
+            return call("question_batch", () -> llmProvider.generateQuestionBatch(jobRole, domain, difficulties, resumeContent,
+                    timeoutMs));
+        } catch (Exception e) {
+            System.err.println("LLM provider error in generateQuestionBatch: " + e.getMessage());
+            return new String[difficulties.size()];
+        }
+    }
+
     public String evaluateAnswer(String question, String userAnswer, String domain) {
-        OpenAiService service = getOpenAiService();
-
-        String prompt = String.format(
-                "You are an expert interview evaluator. Evaluate the following answer to an interview question.\n\n" +
-                "Question: %s\n\n" +
-                "Domain: %s\n\n" +
-                "Candidate's Answer: %s\n\n" +
-                "Please provide:\n" +
-                "1. Score (0-100)\n" +
-                "2. Strengths of the answer\n" +
-                "3. Weaknesses\n" +
-                "4. Suggestions for improvement\n" +
-                "5. Correct answer (if applicable)\n" +
-                "Format your response clearly with sections.",
-                question, domain, userAnswer
-        );
-
-        ChatCompletionRequest request = ChatCompletionRequest.builder()
-                .model(model)
-                .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
-                .temperature(0.5)
-                .build();
-
-        String evaluation = service.createChatCompletion(request)
-                .getChoices()
-                .get(0)
-                .getMessage()
-                .getContent();
-
-        service.shutdownExecutor();
+        Optional<String> cached = evaluationCache.get(question, userAnswer, domain);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        String evaluation = call("evaluation", () -> llmProvider.evaluateAnswer(question, userAnswer, domain));
+        evaluationCache.put(question, userAnswer, domain, evaluation);
         return evaluation;
     }
 
     public String generateFeedback(List<String> strengths, List<String> weaknesses, double score) {
-        OpenAiService service = getOpenAiService();
-
-        String prompt = String.format(
-                "Based on an interview performance with the following metrics:\n" +
-                "Overall Score: %.2f/100\n" +
-                "Strengths: %s\n" +
-                "Weaknesses: %s\n\n" +
-                "Generate comprehensive feedback for the candidate including:\n" +
-                "1. Overall assessment\n" +
-                "2. Key strengths to leverage\n" +
-                "3. Areas for improvement\n" +
-                "4. Actionable recommendations\n" +
-                "5. Preparation tips for next interview",
-                score, String.join(", ", strengths), String.join(", ", weaknesses)
-        );
-
-        ChatCompletionRequest request = ChatCompletionRequest.builder()
-                .model(model)
-                .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
-                .temperature(0.6)
-                .build();
-
-        String feedback = service.createChatCompletion(request)
-                .getChoices()
-                .get(0)
-                .getMessage()
-                .getContent();
-
-        service.shutdownExecutor();
-        return feedback;
+        return call("feedback", () -> llmProvider.generateFeedback(strengths, weaknesses, score));
+    }
+
+    /**
+     * Streams the feedback completion, handing each content delta to onToken as it arrives.
+     * Returns the full concatenated text once the stream ends.
+     */
+    public String streamFeedback(List<String> strengths, List<String> weaknesses, double score, Consumer<String> onToken) {
+        return call("feedback_stream", () -> llmProvider.streamFeedback(strengths, weaknesses, score, onToken));
+    }
+
+    public String summarizeResume(String resumeContent) {
+        return call("resume_summary", () -> llmProvider.summarizeResume(resumeContent));
+    }
+
+    /**
+     * Runs one provider call behind the operation's circuit breaker and the shared concurrency
+     * limiter. Both fail fast with a RuntimeException, which callers already treat as "use fallback".
+     */
+    private <T> T call(String operation, Supplier<T> llmCall) {
+        CircuitBreaker breaker = circuitBreaker(operation);
+        if (!breaker.tryAcquirePermission()) {
+            meterRegistry.counter("ai.calls.rejected", "operation", operation, "reason", "circuit_open").increment();
+            throw new RuntimeException("AI circuit open for " + operation);
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            // Never made, so it must not use up one of the half-open trial calls
+            breaker.releasePermission();
+            meterRegistry.counter("ai.calls.rejected", "operation", operation, "reason", "concurrency_limit").increment();
+            throw new RuntimeException("AI concurrency limit reached for " + operation);
+        }
+
+        meterRegistry.counter("ai.calls", "operation", operation).increment();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = llmCall.get();
+            success = true;
+            return result;
+        } finally {
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            breaker.record(success, durationMs);
+            concurrencyLimiter.release(!success || durationMs > breaker.getSlowCallMs());
+        }
+    }
+
+    private CircuitBreaker circuitBreaker(String operation) {
+        return circuitBreakers.computeIfAbsent(operation, op -> {
+            String prefix = "ai.circuit-breaker.";
+            CircuitBreaker breaker = new CircuitBreaker(
+                    op,
+                    environment.getProperty(prefix + "window-size", Integer.class, 20),
+                    environment.getProperty(prefix + "minimum-calls", Integer.class, 10),
+                    environment.getProperty(prefix + "failure-rate-threshold", Double.class, 0.5),
+                    environment.getProperty(prefix + "slow-call-rate-threshold", Double.class, 0.5),
+                    environment.getProperty(prefix + "slow-call-ms." + op, Long.class, 15000L),
+                    environment.getProperty(prefix + "open-duration-ms", Long.class, 30000L),
+                    environment.getProperty(prefix + "half-open-calls", Integer.class, 3)
+            );
+            // 0 = closed, 1 = half-open, 2 = open
+            meterRegistry.gauge("ai.circuit.state", Tags.of("operation", op),
+                    breaker, b -> b.getState().ordinal());
+            return breaker;
+        });
     }
 
     public String transcribeAudio(String audioPath) {
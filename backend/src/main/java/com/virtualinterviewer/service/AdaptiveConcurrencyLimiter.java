@@ -0,0 +1,60 @@
+package com.virtualinterviewer.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * AIMD cap on concurrent LLM calls. The limit grows by roughly one per limit-many healthy
+ * calls while it is being used, and shrinks multiplicatively whenever a call fails or is slow.
+ * Calls over the limit are rejected immediately so callers take their fallback path.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoffRatio;
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${ai.concurrency.initial-limit:20}") double initialLimit,
+                                      @Value("${ai.concurrency.min-limit:2}") double minLimit,
+                                      @Value("${ai.concurrency.max-limit:200}") double maxLimit,
+                                      @Value("${ai.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+        meterRegistry.gauge("ai.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit);
+        meterRegistry.gauge("ai.concurrency.in_flight", this, AdaptiveConcurrencyLimiter::getInFlight);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    // congested = the call failed or exceeded its operation's slow-call threshold
+    public synchronized void release(boolean congested) {
+        if (congested) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= limit) {
+            // Only probe upwards when the current limit is actually being used
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        inFlight--;
+    }
+
+    public synchronized double getLimit() {
+        return limit;
+    }
+
+    public synchronized double getInFlight() {
+        return inFlight;
+    }
+}
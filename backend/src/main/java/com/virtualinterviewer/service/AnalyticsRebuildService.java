@@ -0,0 +1,338 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.AnalyticsRebuildJob;
+import com.virtualinterviewer.model.Interview;
+import com.virtualinterviewer.repository.AnalyticsRebuildJobRepository;
+import com.virtualinterviewer.repository.InterviewRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds every user's analytics and per-domain totals from their interviews. One driver thread
+ * streams interviews ordered by user through a forward-only cursor and hands chunks of whole users
+ * to a worker pool; each chunk is written in its own transaction. The job row checkpoints the last
+ * user of the longest run of finished chunks, so an interrupted, failed or cancelled job resumes
+ * from there. Rewriting a user is idempotent, so chunks redone after a resume do no harm.
+ */
+@Service
+public class AnalyticsRebuildService {
+
+    private static final String STREAM_QUERY =
+            "select i.user.id, i.status, i.overallScore, i.startTime from Interview i " +
+            "where i.user.id > :afterUserId order by i.user.id, i.startTime, i.id";
+
+    private final EntityManager entityManager;
+    private final AnalyticsService analyticsService;
+    private final AnalyticsRebuildJobRepository jobRepository;
+    private final InterviewRepository interviewRepository;
+    private final TaskExecutor rebuildExecutor;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final int fetchSize;
+    private final int maxInFlightChunks;
+
+    private volatile Run current;
+
+    public AnalyticsRebuildService(EntityManager entityManager,
+                                   AnalyticsService analyticsService,
+                                   AnalyticsRebuildJobRepository jobRepository,
+                                   InterviewRepository interviewRepository,
+                                   @Qualifier("analyticsRebuildExecutor") TaskExecutor rebuildExecutor,
+                                   MeterRegistry meterRegistry,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${analytics.rebuild.chunk-size:200}") int chunkSize,
+                                   @Value("${analytics.rebuild.fetch-size:-2147483648}") int fetchSize,
+                                   @Value("${analytics.rebuild.queue-capacity:8}") int queueCapacity) {
+        this.entityManager = entityManager;
+        this.analyticsService = analyticsService;
+        this.jobRepository = jobRepository;
+        this.interviewRepository = interviewRepository;
+        this.rebuildExecutor = rebuildExecutor;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.fetchSize = fetchSize;
+        // A worker frees its permit just before its thread goes back to the pool, so only a bound
+        // no larger than the executor's queue guarantees a submit is never rejected
+        this.maxInFlightChunks = Math.max(1, queueCapacity);
+    }
+
+    // Jobs still RUNNING at startup were cut off by a shutdown; leave them resumable
+    @EventListener(ApplicationReadyEvent.class)
+    public void markInterruptedJobs() {
+        for (AnalyticsRebuildJob job : jobRepository.findByStatus(AnalyticsRebuildJob.Status.RUNNING)) {
+            job.setStatus(AnalyticsRebuildJob.Status.INTERRUPTED);
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            System.out.println("Analytics rebuild job " + job.getId() + " was interrupted at user " + job.getCheckpointUserId());
+        }
+    }
+
+    /**
+     * Starts a rebuild in the background. With resume, the latest job that did not complete is
+     * continued from its checkpoint; otherwise, or when there is none, a new job starts from the first user.
+     */
+    public synchronized Map<String, Object> start(boolean resume) {
+        if (current != null && !current.finished) {
+            throw new IllegalStateException("Analytics rebuild job " + current.job.getId() + " is already running");
+        }
+
+        AnalyticsRebuildJob job = null;
+        if (resume) {
+            job = jobRepository.findTopByOrderByIdDesc()
+                    .filter(j -> j.getStatus() != AnalyticsRebuildJob.Status.COMPLETED)
+                    .orElse(null);
+        }
+        if (job == null) {
+            job = new AnalyticsRebuildJob();
+        }
+        job.setStatus(AnalyticsRebuildJob.Status.RUNNING);
+        job.setFinishedAt(null);
+        job.setLastError(null);
+        job.setTotalUsers(job.getUsersProcessed() + interviewRepository.countUsersAfter(job.getCheckpointUserId()));
+        job.setUpdatedAt(LocalDateTime.now());
+        job = jobRepository.save(job);
+
+        Run run = new Run(job);
+        current = run;
+        Thread driver = new Thread(() -> drive(run), "analytics-rebuild-" + job.getId());
+        driver.setDaemon(true);
+        driver.start();
+
+        System.out.println("Analytics rebuild job " + job.getId() + " started after user " + job.getCheckpointUserId());
+        return progress();
+    }
+
+    public Map<String, Object> cancel() {
+        Run run = current;
+        if (run == null || run.finished) {
+            throw new IllegalStateException("No analytics rebuild is running");
+        }
+        run.cancelled = true;
+        return progress();
+    }
+
+    // Latest job as stored, plus live throughput while it is running in this instance
+    public Map<String, Object> progress() {
+        Run run = current;
+        AnalyticsRebuildJob job;
+        if (run != null) {
+            synchronized (run) {
+                job = run.job;
+            }
+        } else {
+            job = jobRepository.findTopByOrderByIdDesc().orElse(null);
+        }
+
+        Map<String, Object> progress = new LinkedHashMap<>();
+        if (job == null) {
+            progress.put("status", "NONE");
+            return progress;
+        }
+        progress.put("jobId", job.getId());
+        progress.put("status", job.getStatus());
+        progress.put("checkpointUserId", job.getCheckpointUserId());
+        progress.put("usersProcessed", job.getUsersProcessed());
+        progress.put("interviewsProcessed", job.getInterviewsProcessed());
+        progress.put("totalUsers", job.getTotalUsers());
+        Long totalUsers = job.getTotalUsers();
+        progress.put("percentComplete", totalUsers == null || totalUsers == 0 ? 100.0 :
+                Math.min(100.0, Math.round(job.getUsersProcessed() * 1000.0 / totalUsers) / 10.0));
+        progress.put("failedChunks", job.getFailedChunks());
+        progress.put("lastError", job.getLastError());
+        progress.put("startedAt", job.getStartedAt());
+        progress.put("updatedAt", job.getUpdatedAt());
+        progress.put("finishedAt", job.getFinishedAt());
+
+        if (run != null && run.job.getId().equals(job.getId())) {
+            long elapsedMillis = Math.max(1, (run.endNanos > 0 ? run.endNanos : System.nanoTime()) - run.startNanos) / 1_000_000;
+            double seconds = elapsedMillis / 1000.0;
+            progress.put("elapsedSeconds", seconds);
+            progress.put("usersPerSecond", Math.round(run.users.get() / seconds * 10) / 10.0);
+            progress.put("interviewsPerSecond", Math.round(run.interviews.get() / seconds * 10) / 10.0);
+            progress.put("chunksInFlight", maxInFlightChunks - run.permits.availablePermits());
+        }
+        return progress;
+    }
+
+    private void drive(Run run) {
+        String error = null;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> streamChunks(run));
+        } catch (Exception e) {
+            error = e.getMessage();
+            System.err.println("Analytics rebuild job " + run.job.getId() + " failed while streaming: " + e.getMessage());
+        }
+
+        // Wait for the chunks still queued or running
+        run.permits.acquireUninterruptibly(maxInFlightChunks);
+        run.permits.release(maxInFlightChunks);
+        run.endNanos = System.nanoTime();
+
+        synchronized (run) {
+            AnalyticsRebuildJob job = run.job;
+            if (error != null || run.failedChunks > 0) {
+                job.setStatus(AnalyticsRebuildJob.Status.FAILED);
+                if (error != null) {
+                    job.setLastError(error);
+                }
+            } else if (run.cancelled) {
+                job.setStatus(AnalyticsRebuildJob.Status.CANCELLED);
+            } else {
+                job.setStatus(AnalyticsRebuildJob.Status.COMPLETED);
+                job.setTotalUsers(job.getUsersProcessed());
+            }
+            job.setFinishedAt(LocalDateTime.now());
+            saveJob(run);
+            run.finished = true;
+        }
+
+        Duration took = Duration.ofNanos(run.endNanos - run.startNanos);
+        System.out.println("Analytics rebuild job " + run.job.getId() + " " + run.job.getStatus() + " after " +
+                run.users.get() + " users / " + run.interviews.get() + " interviews in " + took.toMillis() + " ms");
+    }
+
+    private void streamChunks(Run run) {
+        List<AnalyticsService.UserTotals> chunk = new ArrayList<>(chunkSize);
+        AnalyticsService.UserTotals user = null;
+        long chunkInterviews = 0;
+
+        // Scalar rows only, so the persistence context stays empty however many interviews there are
+        try (Stream<Object[]> rows = entityManager.createQuery(STREAM_QUERY, Object[].class)
+                .setParameter("afterUserId", run.job.getCheckpointUserId())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                Long userId = (Long) row[0];
+                if (user == null || !user.getUserId().equals(userId)) {
+                    if (run.cancelled || run.failedChunks > 0) {
+                        return;
+                    }
+                    if (chunk.size() == chunkSize) {
+                        dispatch(run, chunk, chunkInterviews);
+                        chunk = new ArrayList<>(chunkSize);
+                        chunkInterviews = 0;
+                    }
+                    user = new AnalyticsService.UserTotals(userId);
+                    chunk.add(user);
+                }
+                user.add((Interview.InterviewStatus) row[1], (Double) row[2], (LocalDateTime) row[3]);
+                chunkInterviews++;
+            }
+        }
+        if (!chunk.isEmpty() && !run.cancelled) {
+            dispatch(run, chunk, chunkInterviews);
+        }
+    }
+
+    private void dispatch(Run run, List<AnalyticsService.UserTotals> users, long interviewCount) {
+        // Blocks the stream while the pool is saturated
+        run.permits.acquireUninterruptibly();
+        long sequence = run.nextSequence++;
+        Long lastUserId = users.get(users.size() - 1).getUserId();
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    analyticsService.rebuildUsers(users);
+                    chunkDone(run, sequence, lastUserId, users.size(), interviewCount);
+                } catch (Exception e) {
+                    chunkFailed(run, sequence, lastUserId, e);
+                } finally {
+                    run.permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            run.permits.release();
+            chunkFailed(run, sequence, lastUserId, e);
+        }
+    }
+
+    private void chunkDone(Run run, long sequence, Long lastUserId, int userCount, long interviewCount) {
+        run.users.addAndGet(userCount);
+        run.interviews.addAndGet(interviewCount);
+        meterRegistry.counter("analytics.rebuild.users").increment(userCount);
+        meterRegistry.counter("analytics.rebuild.interviews").increment(interviewCount);
+
+        synchronized (run) {
+            run.completed.put(sequence, new long[] {lastUserId, userCount, interviewCount});
+            // Advance the checkpoint over every finished chunk with no unfinished one before it
+            boolean advanced = false;
+            long[] done;
+            while ((done = run.completed.remove(run.watermark)) != null) {
+                AnalyticsRebuildJob job = run.job;
+                job.setCheckpointUserId(done[0]);
+                job.setUsersProcessed(job.getUsersProcessed() + done[1]);
+                job.setInterviewsProcessed(job.getInterviewsProcessed() + done[2]);
+                run.watermark++;
+                advanced = true;
+            }
+            if (advanced) {
+                saveJob(run);
+            }
+        }
+    }
+
+    private void chunkFailed(Run run, long sequence, Long lastUserId, Exception e) {
+        meterRegistry.counter("analytics.rebuild.chunk.failures").increment();
+        System.err.println("Analytics rebuild chunk " + sequence + " (up to user " + lastUserId + ") failed: " + e.getMessage());
+        synchronized (run) {
+            run.failedChunks++;
+            run.job.setFailedChunks(run.job.getFailedChunks() + 1);
+            run.job.setLastError("Chunk up to user " + lastUserId + ": " + e.getMessage());
+            saveJob(run);
+        }
+    }
+
+    // Caller holds the run's lock
+    private void saveJob(Run run) {
+        run.job.setUpdatedAt(LocalDateTime.now());
+        try {
+            run.job = jobRepository.save(run.job);
+        } catch (Exception e) {
+            System.err.println("Could not checkpoint analytics rebuild job " + run.job.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private final class Run {
+        private AnalyticsRebuildJob job;
+        private final long startNanos = System.nanoTime();
+        private volatile long endNanos;
+        private final Semaphore permits = new Semaphore(maxInFlightChunks);
+        private final AtomicLong users = new AtomicLong();
+        private final AtomicLong interviews = new AtomicLong();
+        // Finished chunks past the watermark, by sequence: {lastUserId, users, interviews}
+        private final Map<Long, long[]> completed = new HashMap<>();
+        private long nextSequence;
+        private long watermark;
+        private volatile int failedChunks;
+        private volatile boolean cancelled;
+        private volatile boolean finished;
+
+        private Run(AnalyticsRebuildJob job) {
+            this.job = job;
+        }
+    }
+}
@@ -1,18 +1,41 @@
 package com.virtualinterviewer.service;
 
 import com.virtualinterviewer.model.User;
+import com.virtualinterviewer.model.UserDomainStats;
 import com.virtualinterviewer.repository.AnalyticsRepository;
 import com.virtualinterviewer.model.Analytics;
+import com.virtualinterviewer.model.Interview;
+import com.virtualinterviewer.repository.AnswerRepository;
+import com.virtualinterviewer.repository.UserDomainStatsRepository;
+import com.virtualinterviewer.repository.UserRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class AnalyticsService {
 
+    private static final double STRENGTH_THRESHOLD = 75.0;
+    private static final double WEAKNESS_THRESHOLD = 60.0;
+
     private final AnalyticsRepository analyticsRepository;
+    private final UserDomainStatsRepository domainStatsRepository;
+    private final AnswerRepository answerRepository;
+    private final UserRepository userRepository;
 
-    public AnalyticsService(AnalyticsRepository analyticsRepository) {
+    public AnalyticsService(AnalyticsRepository analyticsRepository,
+                            UserDomainStatsRepository domainStatsRepository,
+                            AnswerRepository answerRepository,
+                            UserRepository userRepository) {
         this.analyticsRepository = analyticsRepository;
+        this.domainStatsRepository = domainStatsRepository;
+        this.answerRepository = answerRepository;
+        this.userRepository = userRepository;
     }
 
     public Analytics getUserAnalytics(User user) {
@@ -25,7 +48,131 @@ public class AnalyticsService {
         return analyticsOpt.get();
     }
 
+    // Read-only variant for dashboards: users without a row yet get empty, unsaved analytics
+    @Transactional(readOnly = true)
+    public Analytics findUserAnalytics(User user) {
+        return analyticsRepository.findByUser(user).orElseGet(() -> {
+            Analytics analytics = new Analytics();
+            analytics.setUser(user);
+            return analytics;
+        });
+    }
+
     public Analytics updateAnalytics(Analytics analytics) {
         return analyticsRepository.save(analytics);
     }
+
+    // Recomputes the user's per-domain totals from their answers, e.g. for history recorded before the totals existed
+    @Transactional
+    public List<UserDomainStats> rebuildDomainStats(User user) {
+        return rebuildDomainStats(user.getId());
+    }
+
+    private List<UserDomainStats> rebuildDomainStats(Long userId) {
+        domainStatsRepository.deleteAll(domainStatsRepository.findByUserId(userId));
+        domainStatsRepository.flush();
+
+        List<UserDomainStats> rebuilt = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : answerRepository.aggregateScoresByDomain(userId, Interview.InterviewStatus.COMPLETED)) {
+            UserDomainStats stats = new UserDomainStats();
+            stats.setUserId(userId);
+            stats.setDomain((String) row[0]);
+            stats.setAnswerCount(((Number) row[1]).longValue());
+            stats.setScoreSum(((Number) row[2]).doubleValue());
+            stats.setScoreSumSq(((Number) row[3]).doubleValue());
+            stats.setLastUpdated(now);
+            rebuilt.add(stats);
+        }
+        return domainStatsRepository.saveAll(rebuilt);
+    }
+
+    /**
+     * Overwrites the analytics rows and domain totals of a chunk of users in one transaction,
+     * using the same definitions the per-completion upsert maintains.
+     */
+    @Transactional
+    public void rebuildUsers(List<UserTotals> users) {
+        LocalDateTime now = LocalDateTime.now();
+        for (UserTotals totals : users) {
+            Analytics analytics = analyticsRepository.findByUserId(totals.getUserId()).orElseGet(() -> {
+                Analytics created = new Analytics();
+                created.setUser(userRepository.getReferenceById(totals.getUserId()));
+                return created;
+            });
+            analytics.setTotalInterviews(totals.getTotalInterviews());
+            analytics.setCompletedInterviews(totals.getCompletedInterviews());
+            analytics.setScoreSum(totals.getScoreSum());
+            analytics.setAverageScore(totals.getCompletedInterviews() > 0 ? totals.getScoreSum() / totals.getCompletedInterviews() : 0.0);
+            analytics.setBestScore(totals.getBestScore());
+            analytics.setWorstScore(totals.getWorstScore());
+            analytics.setLastInterviewDate(totals.getLastInterviewDate());
+            analytics.setLastUpdated(now);
+            analyticsRepository.save(analytics);
+
+            rebuildDomainStats(totals.getUserId());
+        }
+    }
+
+    // Best domain first
+    public List<UserDomainStats> getDomainStats(User user) {
+        return domainStatsRepository.findByUserId(user.getId()).stream()
+                .sorted(Comparator.comparingDouble(UserDomainStats::getMean).reversed())
+                .toList();
+    }
+
+    // Comma-separated "Domain (NN%)" entries for domains averaging at least 75
+    public String describeStrengths(List<UserDomainStats> stats) {
+        return stats.stream()
+                .filter(s -> s.getAnswerCount() > 0 && s.getMean() >= STRENGTH_THRESHOLD)
+                .map(s -> s.getDomain() + " (" + Math.round(s.getMean()) + "%)")
+                .collect(Collectors.joining(", "));
+    }
+
+    // Comma-separated "Domain (NN%)" entries for domains averaging below 60, weakest first
+    public String describeWeaknesses(List<UserDomainStats> stats) {
+        return stats.stream()
+                .filter(s -> s.getAnswerCount() > 0 && s.getMean() < WEAKNESS_THRESHOLD)
+                .sorted(Comparator.comparingDouble(UserDomainStats::getMean))
+                .map(s -> s.getDomain() + " (" + Math.round(s.getMean()) + "%)")
+                .collect(Collectors.joining(", "));
+    }
+
+    // Running totals of one user's interviews, accumulated while streaming them
+    public static class UserTotals {
+        private final Long userId;
+        private int totalInterviews;
+        private int completedInterviews;
+        private double scoreSum;
+        private double bestScore;
+        private double worstScore;
+        private LocalDateTime lastInterviewDate;
+
+        public UserTotals(Long userId) {
+            this.userId = userId;
+        }
+
+        public void add(Interview.InterviewStatus status, Double overallScore, LocalDateTime startTime) {
+            totalInterviews++;
+            if (status != Interview.InterviewStatus.COMPLETED) {
+                return;
+            }
+            double score = overallScore != null ? overallScore : 0.0;
+            bestScore = completedInterviews == 0 ? score : Math.max(bestScore, score);
+            worstScore = completedInterviews == 0 ? score : Math.min(worstScore, score);
+            completedInterviews++;
+            scoreSum += score;
+            if (startTime != null && (lastInterviewDate == null || startTime.isAfter(lastInterviewDate))) {
+                lastInterviewDate = startTime;
+            }
+        }
+
+        public Long getUserId() { return userId; }
+        public int getTotalInterviews() { return totalInterviews; }
+        public int getCompletedInterviews() { return completedInterviews; }
+        public double getScoreSum() { return scoreSum; }
+        public double getBestScore() { return bestScore; }
+        public double getWorstScore() { return worstScore; }
+        public LocalDateTime getLastInterviewDate() { return lastInterviewDate; }
+    }
 }
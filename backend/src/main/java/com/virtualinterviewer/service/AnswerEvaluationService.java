@@ -0,0 +1,243 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.Answer;
+import com.virtualinterviewer.repository.AnswerRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Scores answers with the AI evaluator, either inline or on a bounded background pool.
+ * Background scoring never holds a DB transaction open while the LLM call is running.
+ */
+@Service
+public class AnswerEvaluationService {
+
+    private final AnswerRepository answerRepository;
+    private final AIService aiService;
+    private final TaskExecutor answerEvaluationExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public AnswerEvaluationService(AnswerRepository answerRepository,
+                                   AIService aiService,
+                                   @Qualifier("answerEvaluationExecutor") TaskExecutor answerEvaluationExecutor,
+                                   PlatformTransactionManager transactionManager) {
+        this.answerRepository = answerRepository;
+        this.aiService = aiService;
+        this.answerEvaluationExecutor = answerEvaluationExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Fills score, aiEvaluation and evaluationStatus on the given answer without saving it
+    public void evaluate(Answer answer, String questionText, String domain) {
+        String answerText = answer.getAnswerText();
+        try {
+            String evaluation = aiService.evaluateAnswer(questionText, answerText, domain);
+            answer.setAiEvaluation(evaluation);
+            answer.setScore(extractScoreFromEvaluation(evaluation));
+            answer.setEvaluationStatus(Answer.EvaluationStatus.COMPLETED);
+        } catch (Exception e) {
+            System.err.println("AI evaluation failed: " + e.getMessage());
+            applyFallbackScore(answer);
+        }
+    }
+
+    /**
+     * Queues a PENDING answer for background scoring once the surrounding transaction commits,
+     * so the worker always sees the saved row.
+     */
+    public void evaluateAfterCommit(Long answerId) {
+        afterCommit(() -> enqueue(answerId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Scores any still-PENDING answers inline and returns them unsaved, e.g. before an interview's
+     * overall score is computed. Call with no transaction open; persist with applyScores.
+     */
+    public List<Answer> scorePending(List<Answer> answers) {
+        List<Answer> scored = new ArrayList<>();
+        for (Answer answer : answers) {
+            if (answer.getEvaluationStatus() == Answer.EvaluationStatus.PENDING) {
+                evaluate(answer, answer.getQuestion().getQuestion(), answer.getInterview().getDomain());
+                scored.add(answer);
+            }
+        }
+        return scored;
+    }
+
+    /**
+     * Copies inline scores onto the answers loaded in the caller's transaction. Answers a background
+     * worker finished in the meantime keep that score; subscribers are notified after commit.
+     */
+    public void applyScores(List<Answer> current, List<Answer> scored) {
+        Map<Long, Answer> byId = new HashMap<>();
+        scored.forEach(answer -> byId.put(answer.getId(), answer));
+        for (Answer answer : current) {
+            Answer evaluated = byId.get(answer.getId());
+            if (evaluated == null || answer.getEvaluationStatus() != Answer.EvaluationStatus.PENDING) {
+                continue;
+            }
+            answer.setAiEvaluation(evaluated.getAiEvaluation());
+            answer.setScore(evaluated.getScore());
+            answer.setEvaluationStatus(evaluated.getEvaluationStatus());
+            Answer saved = answerRepository.save(answer);
+            afterCommit(() -> notifySubscribers(saved));
+        }
+    }
+
+    public SseEmitter subscribe(Answer answer) {
+        SseEmitter emitter = new SseEmitter(120_000L);
+        Long answerId = answer.getId();
+        subscribers.computeIfAbsent(answerId, k -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> removeSubscriber(answerId, emitter));
+        emitter.onTimeout(() -> removeSubscriber(answerId, emitter));
+
+        // The evaluation may have finished before the subscription was registered
+        answerRepository.findById(answerId)
+                .filter(a -> a.getEvaluationStatus() != Answer.EvaluationStatus.PENDING)
+                .ifPresent(this::notifySubscribers);
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingEvaluations() {
+        List<Answer> pending = answerRepository.findByEvaluationStatus(Answer.EvaluationStatus.PENDING);
+        if (!pending.isEmpty()) {
+            System.out.println("Resuming " + pending.size() + " pending answer evaluations");
+        }
+        pending.forEach(answer -> enqueue(answer.getId()));
+    }
+
+    private void enqueue(Long answerId) {
+        try {
+            answerEvaluationExecutor.execute(() -> evaluateInBackground(answerId));
+        } catch (TaskRejectedException e) {
+            System.err.println("Evaluation queue full, using basic scoring for answer " + answerId);
+            completeWithFallback(answerId);
+        }
+    }
+
+    private void evaluateInBackground(Long answerId) {
+        // Read in a short transaction, call the LLM with no transaction open, then write back
+        Optional<Answer> loaded = transactionTemplate.execute(status -> answerRepository.findById(answerId));
+        if (loaded == null || loaded.isEmpty() || loaded.get().getEvaluationStatus() != Answer.EvaluationStatus.PENDING) {
+            return;
+        }
+        Answer answer = loaded.get();
+        evaluate(answer, answer.getQuestion().getQuestion(), answer.getInterview().getDomain());
+        saveIfPending(answer);
+    }
+
+    private void completeWithFallback(Long answerId) {
+        Optional<Answer> loaded = transactionTemplate.execute(status -> answerRepository.findById(answerId));
+        if (loaded == null || loaded.isEmpty()) {
+            return;
+        }
+        Answer answer = loaded.get();
+        applyFallbackScore(answer);
+        saveIfPending(answer);
+    }
+
+    private void saveIfPending(Answer evaluated) {
+        Answer saved = transactionTemplate.execute(status -> {
+            Answer current = answerRepository.findById(evaluated.getId()).orElse(null);
+            // Completion may already have scored it inline
+            if (current == null || current.getEvaluationStatus() != Answer.EvaluationStatus.PENDING) {
+                return null;
+            }
+            current.setAiEvaluation(evaluated.getAiEvaluation());
+            current.setScore(evaluated.getScore());
+            current.setEvaluationStatus(evaluated.getEvaluationStatus());
+            return answerRepository.save(current);
+        });
+        if (saved != null) {
+            notifySubscribers(saved);
+        }
+    }
+
+    private void notifySubscribers(Answer answer) {
+        List<SseEmitter> emitters = subscribers.remove(answer.getId());
+        if (emitters == null) {
+            return;
+        }
+        Map<String, Object> payload = evaluationStatus(answer);
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("evaluation").data(payload));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void removeSubscriber(Long answerId, SseEmitter emitter) {
+        List<SseEmitter> emitters = subscribers.get(answerId);
+        if (emitters != null) {
+            emitters.remove(emitter);
+        }
+    }
+
+    public Map<String, Object> evaluationStatus(Answer answer) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("answerId", answer.getId());
+        status.put("evaluationStatus", answer.getEvaluationStatus());
+        status.put("score", answer.getScore());
+        status.put("aiEvaluation", answer.getAiEvaluation());
+        return status;
+    }
+
+    private void applyFallbackScore(Answer answer) {
+        // Fallback: Simple scoring based on answer length
+        String answerText = answer.getAnswerText();
+        int wordCount = answerText != null ? answerText.trim().split("\\s+").length : 0;
+        double score = Math.min(wordCount * 2.5, 85); // Simple word-based scoring
+        answer.setScore(score);
+        answer.setAiEvaluation(String.format("Score: %.0f/100. AI evaluation unavailable - using basic scoring.", score));
+        answer.setEvaluationStatus(Answer.EvaluationStatus.FALLBACK);
+    }
+
+    private double extractScoreFromEvaluation(String evaluation) {
+        // Simplified extraction - in production, use proper parsing
+        try {
+            if (evaluation.contains("Score:")) {
+                String scoreStr = evaluation.substring(evaluation.indexOf("Score:") + 6, evaluation.indexOf("Score:") + 10).trim();
+                return Double.parseDouble(scoreStr.split("/")[0].trim());
+            }
+        } catch (Exception e) {
+            return 0;
+        }
+        return 50; // Default score
+    }
+}
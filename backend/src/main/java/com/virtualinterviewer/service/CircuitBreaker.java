@@ -0,0 +1,132 @@
+package com.virtualinterviewer.service;
+
+/**
+ * Count-based circuit breaker for one AI operation. Opens when the failure rate or the
+ * slow-call rate over the last windowSize calls crosses its threshold, rejects calls while
+ * open, then lets a few trial calls through (HALF_OPEN) before closing again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallMs;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+
+    // Ring buffer of recent outcomes
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int position;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          double slowCallRateThreshold, long slowCallMs, long openDurationMs, int halfOpenCalls) {
+        this.name = name;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallMs = slowCallMs;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenCalls = halfOpenCalls;
+        this.failed = new boolean[windowSize];
+        this.slow = new boolean[windowSize];
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+
+    // Returns a permission that was acquired but never used for a call
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    public synchronized void record(boolean success, long durationMs) {
+        boolean wasSlow = durationMs > slowCallMs;
+        if (state == State.HALF_OPEN) {
+            if (!success || wasSlow) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+
+        if (recorded == windowSize) {
+            if (failed[position]) failures--;
+            if (slow[position]) slowCalls--;
+        } else {
+            recorded++;
+        }
+        failed[position] = !success;
+        slow[position] = wasSlow;
+        if (!success) failures++;
+        if (wasSlow) slowCalls++;
+        position = (position + 1) % windowSize;
+
+        if (recorded >= minimumCalls &&
+                ((double) failures / recorded >= failureRateThreshold ||
+                 (double) slowCalls / recorded >= slowCallRateThreshold)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public long getSlowCallMs() {
+        return slowCallMs;
+    }
+
+    private void transitionTo(State next) {
+        if (state != next) {
+            System.out.println("AI circuit breaker '" + name + "' " + state + " -> " + next);
+        }
+        state = next;
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        }
+        if (next != State.HALF_OPEN) {
+            // Each closed period starts with a fresh window
+            position = 0;
+            recorded = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.EvaluationCacheEntry;
+import com.virtualinterviewer.repository.EvaluationCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size-bounded LRU cache of AI answer evaluations with a TTL, optionally backed by the
+ * evaluation_cache table so entries survive restarts.
+ */
+@Component
+public class EvaluationCache {
+
+    private final EvaluationCacheRepository cacheRepository;
+    private final TransactionTemplate writeTransaction;
+    private final Map<String, CachedEvaluation> entries;
+    private final Counter hits;
+    private final Counter persistentHits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Value("${ai.evaluation-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.evaluation-cache.persistent:false}")
+    private boolean persistent;
+
+    private final Duration ttl;
+
+    public EvaluationCache(EvaluationCacheRepository cacheRepository,
+                           MeterRegistry meterRegistry,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${ai.evaluation-cache.max-size:10000}") int maxSize,
+                           @Value("${ai.evaluation-cache.ttl-minutes:1440}") long ttlMinutes) {
+        this.cacheRepository = cacheRepository;
+        // The caller's transaction has committed by the time this runs, so a new one is required
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.hits = meterRegistry.counter("ai.evaluation.cache", "result", "hit");
+        this.persistentHits = meterRegistry.counter("ai.evaluation.cache", "result", "persistent_hit");
+        this.misses = meterRegistry.counter("ai.evaluation.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("ai.evaluation.cache.evictions");
+
+        // Access-ordered LinkedHashMap gives LRU eviction
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedEvaluation> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        meterRegistry.gauge("ai.evaluation.cache.size", this, EvaluationCache::size);
+    }
+
+    public Optional<String> get(String question, String answer, String domain) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String key = key(question, answer, domain);
+
+        synchronized (entries) {
+            CachedEvaluation cached = entries.get(key);
+            if (cached != null) {
+                if (!cached.isExpired(ttl)) {
+                    hits.increment();
+                    return Optional.of(cached.evaluation());
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+
+        if (persistent) {
+            try {
+                Optional<EvaluationCacheEntry> stored = cacheRepository.findById(key)
+                        .filter(entry -> entry.getCreatedAt().plus(ttl).isAfter(LocalDateTime.now()));
+                if (stored.isPresent()) {
+                    persistentHits.increment();
+                    synchronized (entries) {
+                        entries.put(key, new CachedEvaluation(stored.get().getEvaluation(), stored.get().getCreatedAt()));
+                    }
+                    return Optional.of(stored.get().getEvaluation());
+                }
+            } catch (Exception e) {
+                System.err.println("Evaluation cache lookup failed: " + e.getMessage());
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String question, String answer, String domain, String evaluation) {
+        if (!enabled || evaluation == null) {
+            return;
+        }
+        String key = key(question, answer, domain);
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (entries) {
+            entries.put(key, new CachedEvaluation(evaluation, now));
+        }
+        if (persistent) {
+            // Written once the caller commits, so a failed cache write never rolls back the answer being scored
+            afterCommit(() -> store(key, evaluation, now));
+        }
+    }
+
+    private void store(String key, String evaluation, LocalDateTime now) {
+        try {
+            writeTransaction.executeWithoutResult(status -> cacheRepository.upsert(key, evaluation, now));
+        } catch (Exception e) {
+            System.err.println("Evaluation cache write failed: " + e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String key(String question, String answer, String domain) {
+        String material = normalize(question) + "\u0000" + normalize(answer) + "\u0000" + normalize(domain);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(material.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Case, surrounding and repeated whitespace do not change the evaluation
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    private record CachedEvaluation(String evaluation, LocalDateTime createdAt) {
+        boolean isExpired(Duration ttl) {
+            return createdAt.plus(ttl).isBefore(LocalDateTime.now());
+        }
+    }
+}
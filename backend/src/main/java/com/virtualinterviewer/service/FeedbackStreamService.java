@@ -0,0 +1,96 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.Feedback;
+import com.virtualinterviewer.model.Interview;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Completes an interview while streaming the AI feedback to the client over SSE.
+ * Emits "token" events as deltas arrive, then one "complete" event carrying the interview
+ * summary and the persisted feedback text (which is the fallback text if the stream failed).
+ * Token data is JSON, {"text": delta}: SSE clients strip one leading space from plain data
+ * lines, which would glue words together.
+ */
+@Service
+public class FeedbackStreamService {
+
+    private final InterviewService interviewService;
+    private final TaskExecutor feedbackStreamExecutor;
+
+    @Value("${interview.feedback-stream.timeout-ms:180000}")
+    private long timeoutMs;
+
+    public FeedbackStreamService(InterviewService interviewService,
+                                 @Qualifier("feedbackStreamExecutor") TaskExecutor feedbackStreamExecutor) {
+        this.interviewService = interviewService;
+        this.feedbackStreamExecutor = feedbackStreamExecutor;
+    }
+
+    public SseEmitter completeInterview(Long interviewId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        try {
+            feedbackStreamExecutor.execute(() -> stream(interviewId, emitter));
+        } catch (TaskRejectedException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    private void stream(Long interviewId, SseEmitter emitter) {
+        TokenSink sink = new TokenSink(emitter);
+        try {
+            Interview interview = interviewService.completeInterview(interviewId, sink::send);
+
+            // Plain fields only: the transaction has ended, so lazy collections cannot be serialized
+            Map<String, Object> result = new HashMap<>();
+            result.put("interviewId", interview.getId());
+            result.put("status", interview.getStatus());
+            result.put("overallScore", interview.getOverallScore());
+            result.put("endTime", interview.getEndTime());
+            result.put("overallComments", interviewService.getFeedbackForInterview(interview)
+                    .map(Feedback::getOverallComments)
+                    .orElse(null));
+            emitter.send(SseEmitter.event().name("complete").data(result));
+            emitter.complete();
+        } catch (Exception e) {
+            System.err.println("Streaming completion failed for interview " + interviewId + ": " + e.getMessage());
+            try {
+                emitter.send(SseEmitter.event().name("error").data("Error: " + e.getMessage()));
+            } catch (IOException | IllegalStateException ignored) {
+                // Client already gone
+            }
+            emitter.completeWithError(e);
+        }
+    }
+
+    // Forwards tokens until the client disconnects; generation still runs to the end so feedback is persisted
+    private static class TokenSink {
+        private final SseEmitter emitter;
+        private boolean open = true;
+
+        TokenSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(String token) {
+            if (!open) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name("token").data(Map.of("text", token), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                open = false;
+            }
+        }
+    }
+}
@@ -1,15 +1,41 @@
 package com.virtualinterviewer.service;
 
+import com.virtualinterviewer.dto.InterviewPage;
+import com.virtualinterviewer.dto.InterviewSummary;
 import com.virtualinterviewer.model.*;
 import com.virtualinterviewer.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Service
 public class InterviewService {
@@ -19,7 +45,29 @@ public class InterviewService {
     private final AnswerRepository answerRepository;
     private final FeedbackRepository feedbackRepository;
     private final AnalyticsRepository analyticsRepository;
+    private final UserDomainStatsRepository domainStatsRepository;
     private final AIService aiService;
+    private final AnswerEvaluationService answerEvaluationService;
+    private final QuestionPoolService questionPoolService;
+    private final ResumeProfileService resumeProfileService;
+    private final InterviewSessionCache sessionCache;
+    private final ScorePercentileService percentileService;
+    private final QuestionContentStore contentStore;
+    private final QuestionDeduplicator questionDeduplicator;
+    private final TransactionTemplate sessionTransaction;
+    private final TransactionTemplate completionTransaction;
+    private final TaskExecutor questionGenerationExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${interview.generation.deadline-ms:15000}")
+    private long generationDeadlineMs;
+
+    @Value("${interview.generation.mode:per-question}")
+    private String generationMode;
+
+    @Value("${interview.evaluation.mode:sync}")
+    private String evaluationMode;
 
     // Constructor-based dependency injection
     public InterviewService(
@@ -28,15 +76,40 @@ public class InterviewService {
             AnswerRepository answerRepository,
             FeedbackRepository feedbackRepository,
             AnalyticsRepository analyticsRepository,
-            AIService aiService) {
+            UserDomainStatsRepository domainStatsRepository,
+            AIService aiService,
+            AnswerEvaluationService answerEvaluationService,
+            QuestionPoolService questionPoolService,
+            ResumeProfileService resumeProfileService,
+            InterviewSessionCache sessionCache,
+            ScorePercentileService percentileService,
+            QuestionContentStore contentStore,
+            QuestionDeduplicator questionDeduplicator,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("questionGenerationExecutor") TaskExecutor questionGenerationExecutor,
+            MeterRegistry meterRegistry) {
         this.interviewRepository = interviewRepository;
         this.questionRepository = questionRepository;
         this.answerRepository = answerRepository;
         this.feedbackRepository = feedbackRepository;
         this.analyticsRepository = analyticsRepository;
+        this.domainStatsRepository = domainStatsRepository;
         this.aiService = aiService;
+        this.answerEvaluationService = answerEvaluationService;
+        this.questionPoolService = questionPoolService;
+        this.resumeProfileService = resumeProfileService;
+        this.sessionCache = sessionCache;
+        this.percentileService = percentileService;
+        this.contentStore = contentStore;
+        this.questionDeduplicator = questionDeduplicator;
+        // Deliberately not read-only: sessions carry the answer cursor, so they are loaded from the
+        // primary rather than a replica that may not have the interview or its latest answer yet
+        this.sessionTransaction = new TransactionTemplate(transactionManager);
+        this.completionTransaction = new TransactionTemplate(transactionManager);
+        this.questionGenerationExecutor = questionGenerationExecutor;
+        this.meterRegistry = meterRegistry;
     }
-    @Transactional
+    // Not one transaction: questions are stored while generating (the slow part), then the interview is inserted with its plan
     public Interview startInterview(User user, String jobRole, String domain, Integer numberOfQuestions, String resumeContent) {
         try {
             Interview interview = new Interview();
@@ -44,15 +117,19 @@ public class InterviewService {
             interview.setJobRole(jobRole);
             interview.setDomain(domain);
             interview.setStatus(Interview.InterviewStatus.IN_PROGRESS);
-            interview.setResumeContextUsed(resumeContent);
-
-            Interview savedInterview = interviewRepository.save(interview);
+            // Condensed once per interview; every prompt gets the short profile, not the raw resume
+            String resumeProfile = resumeProfileService.condense(resumeContent);
+            interview.setResumeContextUsed(resumeProfile);
 
             // Generate questions dynamically using AI and bind to this interview
-            List<Long> qIds = generateQuestionsForInterview(savedInterview, numberOfQuestions, resumeContent);
-            savedInterview.setQuestionIds(qIds);
-            savedInterview.setTotalQuestions(qIds != null ? qIds.size() : 0);
-            return interviewRepository.save(savedInterview);
+            List<Long> qIds = generateQuestionsForInterview(interview, numberOfQuestions, resumeProfile);
+            interview.setQuestionIds(qIds);
+            interview.setNextQuestionIndex(0);
+            interview.setNextQuestionId(qIds != null && !qIds.isEmpty() ? qIds.get(0) : null);
+            interview.setTotalQuestions(qIds != null ? qIds.size() : 0);
+            Interview savedInterview = interviewRepository.save(interview);
+            System.out.println("Generated " + savedInterview.getTotalQuestions() + " questions for interview " + savedInterview.getId());
+            return savedInterview;
         } catch (Exception e) {
             System.err.println("Error starting interview: " + e.getMessage());
             e.printStackTrace();
@@ -61,7 +138,6 @@ public class InterviewService {
     }
 
     private List<Long> generateQuestionsForInterview(Interview interview, Integer count, String resumeContent) {
-        List<Long> ids = new ArrayList<>();
         String[] difficultyLabels = {"Easy", "Medium", "Hard"};
         
         // Pre-defined fallback questions for various domains
@@ -75,191 +151,430 @@ public class InterviewService {
              "How do you stay updated with latest trends in " + interview.getDomain() + "?",
              "Describe your problem-solving approach in " + interview.getDomain() + "."}
         };
-        
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(generationDeadlineMs);
+        List<String> difficulties = new ArrayList<>();
         for (int i = 0; i < count; i++) {
-            int diffIdx = i % difficultyLabels.length;
-            int difficultyScale = (i % 5) + 1; // 1-5 cycling
-            String questionText = null;
-            String createdBy = "FALLBACK_SYSTEM";
-            
-            // Try AI generation first
+            difficulties.add(difficultyLabels[i % difficultyLabels.length]);
+        }
+
+        String[] questionTexts = new String[count];
+        String[] sources = new String[count];
+        Long[] pooledIds = new Long[count];
+
+        // Pooled questions are generated without a resume, so only untailored interviews use them
+        if (questionPoolService.isEnabled() && (resumeContent == null || resumeContent.isBlank())) {
+            List<Long> drawn = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                pooledIds[i] = questionPoolService.draw(interview.getDomain(), interview.getJobRole(), difficulties.get(i));
+                if (pooledIds[i] != null) {
+                    drawn.add(pooledIds[i]);
+                }
+            }
+            // Slots whose question another instance claimed first are generated like the rest
+            Set<Long> claimed = drawn.isEmpty() ? Set.of() : new HashSet<>(questionPoolService.claim(drawn));
+            for (int i = 0; i < count; i++) {
+                if (pooledIds[i] != null && !claimed.contains(pooledIds[i])) {
+                    pooledIds[i] = null;
+                }
+                if (pooledIds[i] != null) {
+                    sources[i] = "pool";
+                }
+            }
+        }
+
+        List<Integer> openSlots = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (pooledIds[i] == null) {
+                openSlots.add(i);
+            }
+        }
+
+        if ("batched".equalsIgnoreCase(generationMode) && !openSlots.isEmpty()) {
+            // One completion for the whole plan; anything it misses is retried per question below
             try {
-                questionText = aiService.generateQuestion(
+                List<String> openDifficulties = openSlots.stream().map(difficulties::get).toList();
+                CompletableFuture<String[]> batch = CompletableFuture.supplyAsync(() -> aiService.generateQuestionBatch(
                         interview.getJobRole(),
                         interview.getDomain(),
-                        difficultyLabels[diffIdx],
-                        resumeContent
-                );
-                createdBy = "AI_SYSTEM";
-                System.out.println("Successfully generated AI question " + (i + 1));
+                        openDifficulties,
+                        resumeContent,
+                        timeLeft(deadlineNanos)
+                ), questionGenerationExecutor);
+                String[] batchTexts = batch.get(remainingMillis(deadlineNanos), TimeUnit.MILLISECONDS);
+                for (int j = 0; j < openSlots.size(); j++) {
+                    if (batchTexts[j] != null) {
+                        questionTexts[openSlots.get(j)] = batchTexts[j];
+                        sources[openSlots.get(j)] = "ai_batch";
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             } catch (Exception e) {
-                System.err.println("AI question generation failed for question " + (i + 1) + ", using fallback: " + e.getMessage());
-                // Use fallback
-                questionText = fallbackQuestionsByDomain[0][i % fallbackQuestionsByDomain[0].length];
+                System.err.println("Batched question generation failed, retrying per question: " + e.getMessage());
             }
+        }
 
-            InterviewQuestion question = new InterviewQuestion();
-            question.setQuestion(questionText);
-            question.setDomain(interview.getDomain());
-            question.setJobRole(interview.getJobRole());
-            question.setType(InterviewQuestion.QuestionType.TECHNICAL);
-            question.setDifficulty(difficultyScale);
-            question.setTimeLimitSeconds(120);
-            question.setActive(true);
-            question.setCreatedBy(createdBy);
-
+        // Fan out AI generation for unfilled slots; the whole plan shares one deadline
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (questionTexts[i] != null || pooledIds[i] != null) {
+                futures.add(null);
+                continue;
+            }
+            String difficultyLabel = difficulties.get(i);
+            CompletableFuture<String> future;
             try {
-                InterviewQuestion saved = questionRepository.save(question);
-                ids.add(saved.getId());
-            } catch (Exception e) {
-                System.err.println("Failed to save question " + (i + 1) + ": " + e.getMessage());
-                throw new RuntimeException("Database error while saving questions", e);
+                future = CompletableFuture.supplyAsync(() -> aiService.generateQuestion(
+                        interview.getJobRole(),
+                        interview.getDomain(),
+                        difficultyLabel,
+                        resumeContent,
+                        timeLeft(deadlineNanos)
+                ), questionGenerationExecutor);
+            } catch (RejectedExecutionException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            futures.add(future);
+        }
+
+        try {
+            CompletableFuture.allOf(futures.stream().filter(f -> f != null).toArray(CompletableFuture[]::new))
+                    .get(remainingMillis(deadlineNanos), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            System.err.println("Question generation deadline of " + generationDeadlineMs + "ms reached, filling remaining slots from fallback");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Individual failures are handled per slot below
+        }
+
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<String> future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                questionTexts[i] = future.join();
+                sources[i] = "ai_single";
+            } else {
+                // Drops a call still waiting in the queue; one in flight was given the deadline as its timeout
+                future.cancel(true);
+                System.err.println("AI question generation failed or timed out for question " + (i + 1) + ", using fallback");
+                questionTexts[i] = fallbackQuestionsByDomain[0][i % fallbackQuestionsByDomain[0].length];
+                sources[i] = "fallback";
+            }
+        }
+
+        // Content already in the bank reuses its row: identical content by hash, then near-duplicates.
+        // A row appears at most once per plan, so repeated content is swapped for an unused fallback.
+        Long[] reusedIds = new Long[count];
+        Set<Long> planIds = new HashSet<>();
+        for (Long id : pooledIds) {
+            if (id != null) {
+                planIds.add(id);
+            }
+        }
+        Set<String> planHashes = new HashSet<>();
+        InterviewQuestion[] questions = new InterviewQuestion[count];
+        String[] hashes = new String[count];
+        boolean[] nearDuplicate = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            if (pooledIds[i] != null) {
+                meterRegistry.counter("interview.generation.questions", "mode", generationMode, "source", sources[i]).increment();
+                continue;
+            }
+            InterviewQuestion question = generatedQuestion(interview, questionTexts[i], sources[i], i);
+            String hash = QuestionContentStore.hashOf(question);
+            Long existingId = contentStore.findId(hash);
+            for (int f = 0; f < fallbackQuestionsByDomain[0].length && inPlan(hash, existingId, planHashes, planIds); f++) {
+                sources[i] = "fallback";
+                question = generatedQuestion(interview, fallbackQuestionsByDomain[0][(i + f) % fallbackQuestionsByDomain[0].length], sources[i], i);
+                hash = QuestionContentStore.hashOf(question);
+                existingId = contentStore.findId(hash);
+            }
+            meterRegistry.counter("interview.generation.questions", "mode", generationMode, "source", sources[i]).increment();
+            planHashes.add(hash);
+            questions[i] = question;
+            hashes[i] = hash;
+
+            if (existingId == null) {
+                existingId = questionDeduplicator.findDuplicate(question.getQuestion(), interview.getDomain(),
+                        interview.getJobRole(), question.getType(), question.getDifficulty(), planIds);
+                nearDuplicate[i] = existingId != null;
+            }
+            if (existingId != null) {
+                reusedIds[i] = existingId;
+                planIds.add(existingId);
+            }
+        }
+
+        // The in-memory indexes may still hold rows another instance has deleted, deactivated or reworded
+        Map<Long, String> current = contentStore.currentHashes(
+                Arrays.stream(reusedIds).filter(Objects::nonNull).toList());
+        List<InterviewQuestion> plan = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (questions[i] == null) {
+                continue;
+            }
+            String result = reusedIds[i] == null ? "inserted" : nearDuplicate[i] ? "near" : "exact";
+            if (reusedIds[i] != null) {
+                String currentHash = current.get(reusedIds[i]);
+                if (currentHash == null || (!nearDuplicate[i] && !currentHash.equals(hashes[i]))) {
+                    questionDeduplicator.remove(reusedIds[i]);
+                    reusedIds[i] = null;
+                    result = "stale";
+                }
+            }
+            meterRegistry.counter("interview.generation.dedup", "result", result).increment();
+            if (reusedIds[i] == null) {
+                plan.add(questions[i]);
             }
         }
+
+        List<Long> ids = new ArrayList<>();
+        try {
+            // Merge stored questions back into plan order around the pooled and reused ones
+            var stored = contentStore.getOrCreate(plan).iterator();
+            for (int i = 0; i < count; i++) {
+                ids.add(pooledIds[i] != null ? pooledIds[i] : reusedIds[i] != null ? reusedIds[i] : stored.next().id());
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to save questions: " + e.getMessage());
+            throw new RuntimeException("Database error while saving questions", e);
+        }
         
-        System.out.println("Generated " + ids.size() + " questions for interview " + interview.getId());
+        sample.stop(meterRegistry.timer("interview.generation.duration", "mode", generationMode));
         return ids;
     }
 
+    private static InterviewQuestion generatedQuestion(Interview interview, String text, String source, int slot) {
+        InterviewQuestion question = new InterviewQuestion();
+        question.setQuestion(text);
+        question.setDomain(interview.getDomain());
+        question.setJobRole(interview.getJobRole());
+        question.setType(InterviewQuestion.QuestionType.TECHNICAL);
+        question.setDifficulty((slot % 5) + 1); // 1-5 cycling
+        question.setTimeLimitSeconds(120);
+        question.setActive(true);
+        question.setCreatedBy("fallback".equals(source) ? "FALLBACK_SYSTEM" : "AI_SYSTEM");
+        return question;
+    }
+
+    private static boolean inPlan(String hash, Long existingId, Set<String> planHashes, Set<Long> planIds) {
+        return planHashes.contains(hash) || (existingId != null && planIds.contains(existingId));
+    }
+
+    private static long remainingMillis(long deadlineNanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    // Timeout for a generation call starting now; calls that waited in the queue past the deadline are not made
+    private static long timeLeft(long deadlineNanos) {
+        long remaining = remainingMillis(deadlineNanos);
+        if (remaining == 0) {
+            throw new IllegalStateException("Question generation deadline passed before the call started");
+        }
+        return remaining;
+    }
+
     public List<InterviewQuestion> getQuestionsForInterview(String domain, String jobRole, Integer count) {
         List<InterviewQuestion> allQuestions = questionRepository.findByDomainAndJobRole(domain, jobRole);
         return allQuestions.stream().limit(count).toList();
     }
 
-    public InterviewQuestion getNextQuestion(Interview interview) {
-        // Hard stop if interview is finished or over limit
-        if (interview.getStatus() != Interview.InterviewStatus.IN_PROGRESS ||
-                (interview.getQuestionsAnswered() != null && interview.getTotalQuestions() != null &&
-                        interview.getQuestionsAnswered() >= interview.getTotalQuestions())) {
-            return null;
+    /**
+     * Returns the interview's hot state, from the session cache while the interview is in
+     * progress, otherwise loaded with its plan and questions in one transaction on the primary.
+     */
+    public Optional<InterviewSession> getSession(Long interviewId) {
+        Optional<InterviewSession> cached = sessionCache.get(interviewId);
+        if (cached.isPresent()) {
+            return cached;
         }
-        // Get IDs of questions already answered in this interview
-        List<Long> answeredQuestionIds = answerRepository.findByInterview(interview)
-                .stream()
-                .map(answer -> answer.getQuestion().getId())
-                .toList();
+        Optional<InterviewSession> loaded = sessionTransaction.execute(status ->
+                interviewRepository.findById(interviewId).map(this::loadSession));
+        loaded.ifPresent(sessionCache::put);
+        return loaded;
+    }
 
+    private InterviewSession loadSession(Interview interview) {
         List<Long> planIds = interview.getQuestionIds() != null ? interview.getQuestionIds() : List.of();
-        if (planIds.isEmpty()) {
-            return null;
+        Map<Long, InterviewQuestion> questions = new HashMap<>();
+        for (InterviewQuestion question : questionRepository.findAllById(planIds)) {
+            questions.put(question.getId(), question);
         }
+        // Interviews started before the cursor existed answered their plan in order
+        int answered = interview.getQuestionsAnswered() != null ? interview.getQuestionsAnswered() : 0;
+        return new InterviewSession(
+                interview.getId(),
+                interview.getDomain(),
+                interview.getStatus() == Interview.InterviewStatus.IN_PROGRESS,
+                interview.getTotalQuestions(),
+                planIds,
+                questions,
+                answered
+        );
+    }
 
-        // Load all planned questions and pick the first unanswered in planned order
-        var loaded = questionRepository.findAllById(planIds);
-        var byId = loaded.stream().collect(java.util.stream.Collectors.toMap(InterviewQuestion::getId, q -> q));
-        for (Long qid : planIds) {
-            if (!answeredQuestionIds.contains(qid)) {
-                InterviewQuestion q = byId.get(qid);
-                if (q != null) return q;
-            }
+    public InterviewQuestion getNextQuestion(InterviewSession session) {
+        // Hard stop if interview is finished or over limit
+        if (session.isFinished()) {
+            return null;
         }
-        return null;
+        return session.getQuestion(session.getNextQuestionId());
     }
 
     @Transactional
-    public Answer submitAnswer(Interview interview, InterviewQuestion question, String answerText, String audioPath, Integer timeTaken) {
-        if (interview.getStatus() != Interview.InterviewStatus.IN_PROGRESS) {
+    public Answer submitAnswer(InterviewSession session, Long questionId, String answerText, String audioPath, Integer timeTaken) {
+        if (!session.isInProgress()) {
             throw new RuntimeException("Interview is not in progress");
         }
 
-        if (interview.getTotalQuestions() != null && interview.getQuestionsAnswered() != null &&
-                interview.getQuestionsAnswered() >= interview.getTotalQuestions()) {
+        int answered = session.getQuestionsAnswered();
+        if (session.isFinished()) {
             throw new RuntimeException("All questions already answered for this interview");
         }
 
-        // Ensure this question belongs to this interview plan
-        List<Long> planIds = interview.getQuestionIds() != null ? interview.getQuestionIds() : List.of();
-        if (!planIds.contains(question.getId())) {
-            throw new RuntimeException("Question does not belong to this interview");
+        // Questions are answered in plan order, so only the cursor's question is accepted; this also
+        // rejects questions from other interviews and repeat submissions
+        InterviewQuestion question = session.getQuestion(questionId);
+        if (question == null || !questionId.equals(session.questionIdAt(answered))) {
+            throw new RuntimeException("Question is not the current question for this interview");
         }
 
-        // Prevent duplicate submissions for the same question
-        if (answerRepository.existsByInterviewAndQuestion(interview, question)) {
-            throw new RuntimeException("Answer already submitted for this question");
-        }
         Answer answer = new Answer();
-        answer.setInterview(interview);
+        answer.setInterview(interviewRepository.getReferenceById(session.getInterviewId()));
         answer.setQuestion(question);
         answer.setAnswerText(answerText);
         answer.setAnswerAudio(audioPath);
         answer.setTimeTakenSeconds(timeTaken);
 
-        // Get AI evaluation with error handling
-        String evaluation;
-        double score;
-        try {
-            evaluation = aiService.evaluateAnswer(question.getQuestion(), answerText, interview.getDomain());
-            score = extractScoreFromEvaluation(evaluation);
-        } catch (Exception e) {
-            System.err.println("AI evaluation failed: " + e.getMessage());
-            // Fallback: Simple scoring based on answer length
-            int wordCount = answerText != null ? answerText.trim().split("\\s+").length : 0;
-            score = Math.min(wordCount * 2.5, 85); // Simple word-based scoring
-            evaluation = String.format("Score: %.0f/100. AI evaluation unavailable - using basic scoring.", score);
+        if ("async".equalsIgnoreCase(evaluationMode)) {
+            // Save now and score in the background; the client polls or subscribes for the result
+            answer.setEvaluationStatus(Answer.EvaluationStatus.PENDING);
+        } else {
+            answerEvaluationService.evaluate(answer, question.getQuestion(), session.getDomain());
         }
-        
-        answer.setAiEvaluation(evaluation);
-        answer.setScore(score);
 
         Answer savedAnswer = answerRepository.save(answer);
 
-        // Update interview
-        interview.setQuestionsAnswered((interview.getQuestionsAnswered() == null ? 0 : interview.getQuestionsAnswered()) + 1);
-        interviewRepository.save(interview);
+        // Write-through: the guarded update also catches a cached cursor that another request
+        // (or another instance) has already moved past
+        int updated = interviewRepository.advanceCursor(session.getInterviewId(), answered,
+                session.questionIdAt(answered + 1), Interview.InterviewStatus.IN_PROGRESS);
+        if (updated == 0) {
+            sessionCache.evict(session.getInterviewId());
+            throw new RuntimeException("Interview state changed, please fetch the next question again");
+        }
+
+        if (savedAnswer.getEvaluationStatus() == Answer.EvaluationStatus.PENDING) {
+            answerEvaluationService.evaluateAfterCommit(savedAnswer.getId());
+        }
+        afterCommit(() -> session.advance(answered));
 
         return savedAnswer;
     }
 
-    @Transactional
-    public Interview completeInterview(Long interviewId) {
-        Optional<Interview> interviewOpt = interviewRepository.findById(interviewId);
-        if (interviewOpt.isEmpty()) {
-            throw new RuntimeException("Interview not found");
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
+    }
 
-        Interview interview = interviewOpt.get();
-        interview.setStatus(Interview.InterviewStatus.COMPLETED);
-        interview.setEndTime(LocalDateTime.now());
-
-        // Calculate overall score
-        List<Answer> answers = answerRepository.findByInterview(interview);
-        double totalScore = answers.stream()
-                .mapToDouble(a -> a.getScore() != null ? a.getScore() : 0)
-                .average()
-                .orElse(0);
-
-        interview.setOverallScore(totalScore);
-        Interview savedInterview = interviewRepository.save(interview);
+    public Interview completeInterview(Long interviewId) {
+        return completeInterview(interviewId, null);
+    }
 
-        // Generate and save feedback (with error handling)
+    /**
+     * Completes the interview; when onToken is given the AI feedback is streamed through it
+     * as it is generated, and the full text is persisted once the stream ends.
+     * No transaction is held across an LLM call: the score is committed first, the feedback is
+     * generated with no transaction open, then feedback and analytics are saved in a second one.
+     * Only an in-progress interview can be completed, so scores, analytics and the percentile
+     * histograms count each interview once even if completion is requested twice.
+     */
+    public Interview completeInterview(Long interviewId, Consumer<String> onToken) {
+        Interview loaded = completionTransaction.execute(status -> interviewRepository.findById(interviewId).orElse(null));
+        if (loaded == null) {
+            throw new RuntimeException("Interview not found");
+        }
+        if (loaded.getStatus() != Interview.InterviewStatus.IN_PROGRESS) {
+            throw new RuntimeException("Interview is no longer in progress");
+        }
+        List<Answer> scored = answerEvaluationService.scorePending(
+                completionTransaction.execute(status -> answerRepository.findByInterview(loaded)));
+
+        // Step 1: save the inline scores and the overall score
+        List<Answer> answers = new ArrayList<>();
+        Interview interview = completionTransaction.execute(status -> {
+            // Guarded: of two concurrent completions only one gets past here, the other rolls back
+            if (interviewRepository.updateStatusIf(interviewId, Interview.InterviewStatus.IN_PROGRESS,
+                    Interview.InterviewStatus.COMPLETED) == 0) {
+                throw new RuntimeException("Interview is no longer in progress");
+            }
+            Interview current = interviewRepository.findById(interviewId)
+                    .orElseThrow(() -> new RuntimeException("Interview not found"));
+            current.setStatus(Interview.InterviewStatus.COMPLETED);
+            // Dropped now and again after commit, in case a reader re-cached the pre-commit state
+            sessionCache.evict(interviewId);
+            afterCommit(() -> sessionCache.evict(interviewId));
+            current.setEndTime(LocalDateTime.now());
+
+            // Calculate overall score
+            answers.addAll(answerRepository.findByInterview(current));
+            answerEvaluationService.applyScores(answers, scored);
+            current.setOverallScore(answers.stream()
+                    .mapToDouble(a -> a.getScore() != null ? a.getScore() : 0)
+                    .average()
+                    .orElse(0));
+            return interviewRepository.save(current);
+        });
+        double totalScore = interview.getOverallScore();
+
+        // Step 2: generate feedback (with error handling)
+        Feedback feedback;
         try {
-            generateFeedback(interview, answers);
+            feedback = generateFeedback(interview, answers, onToken);
         } catch (Exception e) {
             System.err.println("Failed to generate AI feedback: " + e.getMessage());
             // Create fallback feedback
-            generateFallbackFeedback(interview, answers);
+            feedback = generateFallbackFeedback(interview, answers);
         }
 
-        // Update analytics
-        updateAnalytics(interview.getUser(), interview, totalScore);
-
-        return savedInterview;
+        // Step 3: save feedback and update analytics
+        Feedback completed = feedback;
+        completionTransaction.executeWithoutResult(status -> {
+            feedbackRepository.save(completed);
+            // Update analytics with domain-based strengths/weaknesses
+            updateAnalyticsStrengthsWeaknesses(interview.getUser(), domainScores(answers));
+            updateAnalytics(interview.getUser(), interview, totalScore);
+            String domain = interview.getDomain();
+            String jobRole = interview.getJobRole();
+            afterCommit(() -> percentileService.record(domain, jobRole, totalScore));
+        });
+
+        return interview;
     }
 
-    @Transactional
-    private void generateFeedback(Interview interview, List<Answer> answers) {
+    private Feedback generateFeedback(Interview interview, List<Answer> answers, Consumer<String> onToken) {
         List<String> strengths = new ArrayList<>();
         List<String> weaknesses = new ArrayList<>();
-        Map<String, List<Double>> domainScores = new HashMap<>();
 
         // Analyze performance by domain
         for (Answer answer : answers) {
             if (answer.getScore() != null && answer.getQuestion() != null) {
                 String domain = answer.getQuestion().getDomain();
                 double score = answer.getScore();
-                
-                domainScores.computeIfAbsent(domain, k -> new ArrayList<>()).add(score);
-                
+
                 if (score >= 75) {
                     strengths.add("Strong performance in " + domain + " (scored " + Math.round(score) + "%)");
                 } else if (score < 60) {
@@ -269,35 +584,23 @@ public class InterviewService {
         }
 
         // Generate comprehensive feedback
-        String feedbackText = aiService.generateFeedback(strengths, weaknesses, interview.getOverallScore());
-
-        Feedback feedback = new Feedback();
-        feedback.setInterview(interview);
-        feedback.setOverallScore(interview.getOverallScore());
-        feedback.setOverallComments(feedbackText);
-        feedback.setStrengths(String.join(", ", strengths));
-        feedback.setWeaknesses(String.join(", ", weaknesses));
-        feedback.setGeneratedAt(LocalDateTime.now());
+        String feedbackText = onToken != null
+                ? aiService.streamFeedback(strengths, weaknesses, interview.getOverallScore(), onToken)
+                : aiService.generateFeedback(strengths, weaknesses, interview.getOverallScore());
 
-        feedbackRepository.save(feedback);
-        
-        // Update analytics with domain-based strengths/weaknesses
-        updateAnalyticsStrengthsWeaknesses(interview.getUser(), domainScores);
+        return feedback(interview, feedbackText, strengths, weaknesses);
     }
 
-    private void generateFallbackFeedback(Interview interview, List<Answer> answers) {
+    private Feedback generateFallbackFeedback(Interview interview, List<Answer> answers) {
         List<String> strengths = new ArrayList<>();
         List<String> weaknesses = new ArrayList<>();
-        Map<String, List<Double>> domainScores = new HashMap<>();
 
         // Analyze performance by domain
         for (Answer answer : answers) {
             if (answer.getScore() != null && answer.getQuestion() != null) {
                 String domain = answer.getQuestion().getDomain();
                 double score = answer.getScore();
-                
-                domainScores.computeIfAbsent(domain, k -> new ArrayList<>()).add(score);
-                
+
                 if (score >= 75) {
                     strengths.add("Strong performance in " + domain);
                 } else if (score < 60) {
@@ -316,6 +619,10 @@ public class InterviewService {
             weaknesses.isEmpty() ? "Great work overall" : String.join(", ", weaknesses)
         );
 
+        return feedback(interview, feedbackText, strengths, weaknesses);
+    }
+
+    private static Feedback feedback(Interview interview, String feedbackText, List<String> strengths, List<String> weaknesses) {
         Feedback feedback = new Feedback();
         feedback.setInterview(interview);
         feedback.setOverallScore(interview.getOverallScore());
@@ -323,121 +630,142 @@ public class InterviewService {
         feedback.setStrengths(String.join(", ", strengths));
         feedback.setWeaknesses(String.join(", ", weaknesses));
         feedback.setGeneratedAt(LocalDateTime.now());
+        return feedback;
+    }
 
-        feedbackRepository.save(feedback);
-        
-        // Update analytics with domain-based strengths/weaknesses
-        updateAnalyticsStrengthsWeaknesses(interview.getUser(), domainScores);
+    private static Map<String, List<Double>> domainScores(List<Answer> answers) {
+        Map<String, List<Double>> domainScores = new HashMap<>();
+        for (Answer answer : answers) {
+            if (answer.getScore() != null && answer.getQuestion() != null) {
+                domainScores.computeIfAbsent(answer.getQuestion().getDomain(), k -> new ArrayList<>()).add(answer.getScore());
+            }
+        }
+        return domainScores;
     }
 
     private void updateAnalytics(User user, Interview interview, double score) {
-        Optional<Analytics> analyticsOpt = analyticsRepository.findByUser(user);
-        Analytics analytics;
-        
-        if (analyticsOpt.isEmpty()) {
-            // Create new analytics if doesn't exist
-            analytics = new Analytics();
-            analytics.setUser(user);
-            analytics.setTotalInterviews(0);
-            analytics.setCompletedInterviews(0);
-            analytics.setAverageScore(0.0);
-            analytics.setBestScore(0.0);
-            analytics.setWorstScore(0.0);
-        } else {
-            analytics = analyticsOpt.get();
-        }
-        
-        // Safely get current values with null checks
-        double currentAvg = analytics.getAverageScore() != null ? analytics.getAverageScore() : 0.0;
-        int oldTotal = analytics.getTotalInterviews() != null ? analytics.getTotalInterviews() : 0;
-        int oldCompleted = analytics.getCompletedInterviews() != null ? analytics.getCompletedInterviews() : 0;
-        double oldBest = analytics.getBestScore() != null ? analytics.getBestScore() : 0.0;
-        double oldWorst = analytics.getWorstScore() != null ? analytics.getWorstScore() : 0.0;
-        
-        // Calculate new average
-        double newAvg = oldTotal == 0 ? score : ((currentAvg * oldTotal) + score) / (oldTotal + 1);
-        analytics.setAverageScore(newAvg);
-        
-        // Increment totals
-        analytics.setTotalInterviews(oldTotal + 1);
-        analytics.setCompletedInterviews(oldCompleted + 1);
+        // One atomic upsert, so concurrent completions by the same user cannot lose updates
+        analyticsRepository.recordCompletion(user.getId(), score, LocalDateTime.now());
+        System.out.println("Analytics updated for user " + user.getId() + " with score " + score);
+    }
 
-        // Update best and worst scores
-        if (oldBest == 0.0 || score > oldBest) {
-            analytics.setBestScore(score);
+    private void updateAnalyticsStrengthsWeaknesses(User user, Map<String, List<Double>> domainScores) {
+        // Constant work per domain; strengths and weaknesses are derived from these totals when read
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, List<Double>> entry : domainScores.entrySet()) {
+            double sum = 0;
+            double sumSq = 0;
+            for (double score : entry.getValue()) {
+                sum += score;
+                sumSq += score * score;
+            }
+            domainStatsRepository.addScores(user.getId(), entry.getKey(), entry.getValue().size(), sum, sumSq, now);
         }
-        if (oldWorst == 0.0 || score < oldWorst) {
-            analytics.setWorstScore(score);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Interview> getUserInterviews(User user) {
+        return interviewRepository.findByUserOrderByStartTimeDesc(user);
+    }
+
+    /**
+     * One page of the user's interviews, newest first, optionally narrowed to a status. cursor is
+     * the nextCursor of the previous page, or null for the first page.
+     */
+    @Transactional(readOnly = true)
+    public InterviewPage getInterviewPage(User user, Interview.InterviewStatus status, String cursor, int limit) {
+        // One extra row tells us whether another page follows
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<InterviewSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = status == null
+                    ? interviewRepository.findSummaries(user, page)
+                    : interviewRepository.findSummariesByStatus(user, status, page);
+        } else {
+            String[] position = decodeCursor(cursor);
+            LocalDateTime startTime = LocalDateTime.parse(position[0]);
+            Long id = Long.valueOf(position[1]);
+            rows = status == null
+                    ? interviewRepository.findSummariesBefore(user, startTime, id, page)
+                    : interviewRepository.findSummariesByStatusBefore(user, status, startTime, id, page);
         }
 
-        analytics.setLastInterviewDate(LocalDateTime.now());
-        analytics.setLastUpdated(LocalDateTime.now());
+        if (rows.size() <= limit) {
+            return new InterviewPage(rows, null);
+        }
+        List<InterviewSummary> items = rows.subList(0, limit);
+        InterviewSummary last = items.get(limit - 1);
+        return new InterviewPage(items, encodeCursor(last.getStartTime(), last.getId()));
+    }
 
-        analyticsRepository.save(analytics);
-        System.out.println("Analytics updated: Total=" + analytics.getTotalInterviews() + ", Avg=" + analytics.getAverageScore());
+    private static String encodeCursor(LocalDateTime startTime, Long id) {
+        String position = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
 
-    private void updateAnalyticsStrengthsWeaknesses(User user, Map<String, List<Double>> domainScores) {
-        Optional<Analytics> analyticsOpt = analyticsRepository.findByUser(user);
-        if (analyticsOpt.isEmpty()) {
-            return;
-        }
-        
-        Analytics analytics = analyticsOpt.get();
-        List<String> strengths = new ArrayList<>();
-        List<String> weaknesses = new ArrayList<>();
-        
-        // Analyze each domain
-        for (Map.Entry<String, List<Double>> entry : domainScores.entrySet()) {
-            String domain = entry.getKey();
-            List<Double> scores = entry.getValue();
-            double avgScore = scores.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-            
-            if (avgScore >= 75) {
-                strengths.add(domain + " (" + Math.round(avgScore) + "%)");
-            } else if (avgScore < 60) {
-                weaknesses.add(domain + " (" + Math.round(avgScore) + "%)");
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
             }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
         }
-        
-        // Update or append to existing
-        String currentStrengths = analytics.getTopicStrengths();
-        String currentWeaknesses = analytics.getTopicWeaknesses();
-        
-        if (currentStrengths != null && !currentStrengths.isEmpty()) {
-            analytics.setTopicStrengths(currentStrengths + ", " + String.join(", ", strengths));
-        } else {
-            analytics.setTopicStrengths(String.join(", ", strengths));
+    }
+
+    // Average overall score per domain across the user's completed interviews, computed in the database
+    @Transactional(readOnly = true)
+    public Map<String, Double> getDomainPerformance(User user) {
+        Map<String, Double> performance = new HashMap<>();
+        for (Object[] row : interviewRepository.averageScoreByDomain(user, Interview.InterviewStatus.COMPLETED)) {
+            performance.put((String) row[0], ((Number) row[1]).doubleValue());
         }
-        
-        if (currentWeaknesses != null && !currentWeaknesses.isEmpty()) {
-            analytics.setTopicWeaknesses(currentWeaknesses + ", " + String.join(", ", weaknesses));
-        } else {
-            analytics.setTopicWeaknesses(String.join(", ", weaknesses));
+        return performance;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Double> getJobRolePerformance(User user) {
+        Map<String, Double> performance = new HashMap<>();
+        for (Object[] row : interviewRepository.averageScoreByJobRole(user, Interview.InterviewStatus.COMPLETED)) {
+            performance.put((String) row[0], ((Number) row[1]).doubleValue());
         }
-        
-        analyticsRepository.save(analytics);
+        return performance;
     }
 
-    public List<Interview> getUserInterviews(User user) {
-        return interviewRepository.findByUserOrderByStartTimeDesc(user);
+    @Transactional(readOnly = true)
+    public Map<String, Long> getInterviewCounts(User user) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        for (Interview.InterviewStatus status : Interview.InterviewStatus.values()) {
+            counts.put(status.name(), 0L);
+        }
+        for (Object[] row : interviewRepository.countByStatus(user)) {
+            long count = ((Number) row[1]).longValue();
+            if (row[0] != null) {
+                counts.put(((Interview.InterviewStatus) row[0]).name(), count);
+            }
+            total += count;
+        }
+        counts.put("TOTAL", total);
+        return counts;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Interview> getInterviewById(Long id) {
         return interviewRepository.findById(id);
     }
 
-    private double extractScoreFromEvaluation(String evaluation) {
-        // Simplified extraction - in production, use proper parsing
-        try {
-            if (evaluation.contains("Score:")) {
-                String scoreStr = evaluation.substring(evaluation.indexOf("Score:") + 6, evaluation.indexOf("Score:") + 10).trim();
-                return Double.parseDouble(scoreStr.split("/")[0].trim());
-            }
-        } catch (Exception e) {
-            return 0;
-        }
-        return 50; // Default score
+    public Optional<Feedback> getFeedbackForInterview(Interview interview) {
+        return feedbackRepository.findByInterview(interview);
+    }
+
+    public Optional<Answer> getAnswerForInterview(Long interviewId, Long answerId) {
+        return answerRepository.findById(answerId)
+                .filter(answer -> answer.getInterview() != null && interviewId.equals(answer.getInterview().getId()));
     }
 
     private double calculateFallbackScore(String answerText, Integer difficulty) {
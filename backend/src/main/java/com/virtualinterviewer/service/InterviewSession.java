@@ -0,0 +1,70 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.InterviewQuestion;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hot state of one IN_PROGRESS interview: its plan, the loaded questions and the answer cursor.
+ * The cursor only moves after the matching database update has committed.
+ */
+public class InterviewSession {
+
+    private final Long interviewId;
+    private final String domain;
+    private final boolean inProgress;
+    private final Integer totalQuestions;
+    private final List<Long> plan;
+    private final Map<Long, InterviewQuestion> questions;
+    private int questionsAnswered;
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+
+    public InterviewSession(Long interviewId, String domain, boolean inProgress, Integer totalQuestions,
+                            List<Long> plan, Map<Long, InterviewQuestion> questions, int questionsAnswered) {
+        this.interviewId = interviewId;
+        this.domain = domain;
+        this.inProgress = inProgress;
+        this.totalQuestions = totalQuestions;
+        this.plan = List.copyOf(plan);
+        this.questions = Map.copyOf(questions);
+        this.questionsAnswered = questionsAnswered;
+    }
+
+    public Long getInterviewId() { return interviewId; }
+
+    public String getDomain() { return domain; }
+
+    public boolean isInProgress() { return inProgress; }
+
+    public synchronized int getQuestionsAnswered() { return questionsAnswered; }
+
+    public synchronized boolean isFinished() {
+        return !inProgress || questionsAnswered >= plan.size() ||
+                (totalQuestions != null && questionsAnswered >= totalQuestions);
+    }
+
+    // Plan entry at the given slot, or null past the end of the plan
+    public Long questionIdAt(int index) {
+        return index < plan.size() ? plan.get(index) : null;
+    }
+
+    public synchronized Long getNextQuestionId() {
+        return questionIdAt(questionsAnswered);
+    }
+
+    public InterviewQuestion getQuestion(Long questionId) {
+        return questions.get(questionId);
+    }
+
+    // Moves the cursor on, provided nobody else did since expectedAnswered was read
+    public synchronized void advance(int expectedAnswered) {
+        if (questionsAnswered == expectedAnswered) {
+            questionsAnswered++;
+        }
+    }
+
+    public long getLastAccessMillis() { return lastAccessMillis; }
+
+    public void touch() { lastAccessMillis = System.currentTimeMillis(); }
+}
@@ -0,0 +1,97 @@
+package com.virtualinterviewer.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded LRU of IN_PROGRESS interview sessions keyed by interview ID, so next-question and
+ * submit-answer do not reload the interview, its plan and its questions on every request.
+ * Writes still go to the database first; sessions are dropped when the interview completes,
+ * when they sit idle too long, or when a write finds the database ahead of the cached cursor.
+ */
+@Component
+public class InterviewSessionCache {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long idleMillis;
+    private final Map<Long, InterviewSession> sessions;
+
+    public InterviewSessionCache(MeterRegistry meterRegistry,
+                                 @Value("${interview.session-cache.enabled:true}") boolean enabled,
+                                 @Value("${interview.session-cache.max-size:10000}") int maxSize,
+                                 @Value("${interview.session-cache.idle-minutes:30}") long idleMinutes) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.idleMillis = TimeUnit.MINUTES.toMillis(idleMinutes);
+        this.sessions = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, InterviewSession> eldest) {
+                return size() > maxSize;
+            }
+        };
+        meterRegistry.gauge("interview.session.cache.size", this, InterviewSessionCache::size);
+    }
+
+    public Optional<InterviewSession> get(Long interviewId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        InterviewSession session;
+        synchronized (sessions) {
+            session = sessions.get(interviewId);
+        }
+        meterRegistry.counter("interview.session.cache", "result", session != null ? "hit" : "miss").increment();
+        if (session != null) {
+            session.touch();
+        }
+        return Optional.ofNullable(session);
+    }
+
+    public void put(InterviewSession session) {
+        if (!enabled || !session.isInProgress()) {
+            return;
+        }
+        synchronized (sessions) {
+            sessions.put(session.getInterviewId(), session);
+        }
+    }
+
+    public void evict(Long interviewId) {
+        synchronized (sessions) {
+            sessions.remove(interviewId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${interview.session-cache.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        int evicted = 0;
+        synchronized (sessions) {
+            Iterator<InterviewSession> it = sessions.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().getLastAccessMillis() < cutoff) {
+                    it.remove();
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            meterRegistry.counter("interview.session.cache.evictions", "reason", "idle").increment(evicted);
+        }
+    }
+
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+}
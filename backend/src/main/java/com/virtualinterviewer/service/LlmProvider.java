@@ -0,0 +1,28 @@
+package com.virtualinterviewer.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Backend that actually produces AI text for AIService. Selected with ai.provider:
+ * "openai" (default) or "simulator" for offline load tests.
+ */
+public interface LlmProvider {
+
+    // Question calls give up after timeoutMs when it is positive, releasing the calling thread
+    String generateQuestion(String jobRole, String domain, String difficulty, String resumeContent, long timeoutMs);
+
+    // One slot per requested difficulty; slots the backend could not fill are null
+    String[] generateQuestionBatch(String jobRole, String domain, List<String> difficulties, String resumeContent,
+                                   long timeoutMs);
+
+    String evaluateAnswer(String question, String userAnswer, String domain);
+
+    String generateFeedback(List<String> strengths, List<String> weaknesses, double score);
+
+    // Condenses a raw resume into a short skills/experience profile
+    String summarizeResume(String resumeContent);
+
+    // Hands each content delta to onToken as it arrives and returns the full text
+    String streamFeedback(List<String> strengths, List<String> weaknesses, double score, Consumer<String> onToken);
+}
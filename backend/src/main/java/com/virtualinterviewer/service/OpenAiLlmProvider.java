@@ -0,0 +1,258 @@
+package com.virtualinterviewer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.completion.chat.ChatMessageRole;
+import com.theokanning.openai.service.OpenAiService;
+import com.virtualinterviewer.config.OpenAiClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.Single;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "ai.provider", havingValue = "openai", matchIfMissing = true)
+public class OpenAiLlmProvider implements LlmProvider {
+
+    private final OpenAiClients openAiClients;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${openai.model}")
+    private String model;
+
+    public OpenAiLlmProvider(OpenAiClients openAiClients, MeterRegistry meterRegistry) {
+        this.openAiClients = openAiClients;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String generateQuestion(String jobRole, String domain, String difficulty, String resumeContent, long timeoutMs) {
+        OpenAiApi api = openAiClients.getQuestionApi();
+
+        String prompt = String.format(
+                "Generate a challenging %s interview question for a %s position in the %s domain. " +
+                "Difficulty level: %s. " +
+                (resumeContent != null ? "Consider the candidate's resume: %s. " : "") +
+                "Provide only the question without any numbering or extra text.",
+                domain, jobRole, domain, difficulty, resumeContent != null ? resumeContent : ""
+        );
+
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
+                .temperature(0.7)
+                .maxTokens(200)
+                .build();
+
+        return complete(api, request, "question", timeoutMs);
+    }
+
+    @Override
+    public String[] generateQuestionBatch(String jobRole, String domain, List<String> difficulties, String resumeContent,
+                                          long timeoutMs) {
+        OpenAiApi api = openAiClients.getQuestionApi();
+
+        StringBuilder slots = new StringBuilder();
+        for (int i = 0; i < difficulties.size(); i++) {
+            slots.append(i + 1).append(". ").append(difficulties.get(i)).append("\n");
+        }
+
+        String prompt = String.format(
+                "Generate %d distinct challenging %s interview questions for a %s position in the %s domain.\n" +
+                (resumeContent != null ? "Consider the candidate's resume: %s.\n" : "%s") +
+                "Produce exactly one question per slot below, using the given difficulty level:\n%s\n" +
+                "Respond with strict JSON only, no markdown, in this shape:\n" +
+                "{\"questions\": [{\"index\": 1, \"difficulty\": \"Easy\", \"question\": \"...\"}]}",
+                difficulties.size(), domain, jobRole, domain, resumeContent != null ? resumeContent : "", slots
+        );
+
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
+                .temperature(0.7)
+                .maxTokens(200 * difficulties.size())
+                .build();
+
+        String[] questions = new String[difficulties.size()];
+        try {
+            parseQuestionBatch(complete(api, request, "question_batch", timeoutMs), difficulties, questions);
+        } catch (JsonProcessingException e) {
+            System.err.println("Batched question response was not valid JSON: " + e.getMessage());
+        }
+        return questions;
+    }
+
+    private void parseQuestionBatch(String content, List<String> difficulties, String[] questions)
+            throws JsonProcessingException {
+        if (content == null) {
+            return;
+        }
+        // Tolerate stray prose or code fences around the JSON object
+        int start = content.indexOf('{');
+        int end = content.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            System.err.println("Batched question response was not JSON");
+            return;
+        }
+
+        JsonNode items = objectMapper.readTree(content.substring(start, end + 1)).path("questions");
+        if (!items.isArray()) {
+            System.err.println("Batched question response has no questions array");
+            return;
+        }
+        for (JsonNode item : items) {
+            int index = item.path("index").asInt(0) - 1;
+            String difficulty = item.path("difficulty").asText("");
+            String question = item.path("question").asText("").trim();
+            if (index < 0 || index >= questions.length || questions[index] != null) {
+                continue;
+            }
+            if (!difficulty.equalsIgnoreCase(difficulties.get(index)) || question.isEmpty()) {
+                continue;
+            }
+            questions[index] = question;
+        }
+        long missing = Arrays.stream(questions).filter(q -> q == null).count();
+        if (missing > 0) {
+            System.err.println("Batched question response missing " + missing + " of " + questions.length + " items");
+        }
+    }
+
+    @Override
+    public String evaluateAnswer(String question, String userAnswer, String domain) {
+        OpenAiService service = openAiClients.getEvaluationService();
+
+        String prompt = String.format(
+                "You are an expert interview evaluator. Evaluate the following answer to an interview question.\n\n" +
+                "Question: %s\n\n" +
+                "Domain: %s\n\n" +
+                "Candidate's Answer: %s\n\n" +
+                "Please provide:\n" +
+                "1. Score (0-100)\n" +
+                "2. Strengths of the answer\n" +
+                "3. Weaknesses\n" +
+                "4. Suggestions for improvement\n" +
+                "5. Correct answer (if applicable)\n" +
+                "Format your response clearly with sections.",
+                question, domain, userAnswer
+        );
+
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
+                .temperature(0.5)
+                .build();
+
+        return complete(service, request, "evaluation");
+    }
+
+    @Override
+    public String generateFeedback(List<String> strengths, List<String> weaknesses, double score) {
+        OpenAiService service = openAiClients.getFeedbackService();
+        return complete(service, feedbackRequest(strengths, weaknesses, score), "feedback");
+    }
+
+    @Override
+    public String streamFeedback(List<String> strengths, List<String> weaknesses, double score, Consumer<String> onToken) {
+        OpenAiService service = openAiClients.getFeedbackService();
+        StringBuilder feedback = new StringBuilder();
+
+        service.streamChatCompletion(feedbackRequest(strengths, weaknesses, score))
+                .blockingForEach(chunk -> {
+                    if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+                        return;
+                    }
+                    ChatMessage delta = chunk.getChoices().get(0).getMessage();
+                    if (delta != null && delta.getContent() != null) {
+                        feedback.append(delta.getContent());
+                        onToken.accept(delta.getContent());
+                    }
+                });
+
+        return feedback.toString();
+    }
+
+    @Override
+    public String summarizeResume(String resumeContent) {
+        OpenAiService service = openAiClients.getQuestionService();
+
+        // Very long resumes are cut; the opening pages carry most of the signal
+        String resume = resumeContent.length() > 12000 ? resumeContent.substring(0, 12000) : resumeContent;
+        String prompt = String.format(
+                "Condense the following resume into a compact candidate profile of at most 80 words: " +
+                "key skills, years of experience, recent roles and notable projects. " +
+                "Respond with the profile only.\n\n%s",
+                resume
+        );
+
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
+                .temperature(0.2)
+                .maxTokens(150)
+                .build();
+
+        return complete(service, request, "resume_summary");
+    }
+
+    private ChatCompletionRequest feedbackRequest(List<String> strengths, List<String> weaknesses, double score) {
+        String prompt = String.format(
+                "Based on an interview performance with the following metrics:\n" +
+                "Overall Score: %.2f/100\n" +
+                "Strengths: %s\n" +
+                "Weaknesses: %s\n\n" +
+                "Generate comprehensive feedback for the candidate including:\n" +
+                "1. Overall assessment\n" +
+                "2. Key strengths to leverage\n" +
+                "3. Areas for improvement\n" +
+                "4. Actionable recommendations\n" +
+                "5. Preparation tips for next interview",
+                score, String.join(", ", strengths), String.join(", ", weaknesses)
+        );
+
+        return ChatCompletionRequest.builder()
+                .model(model)
+                .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
+                .temperature(0.6)
+                .build();
+    }
+
+    // Runs a chat completion and records its token usage under ai.tokens{operation}
+    private String complete(OpenAiService service, ChatCompletionRequest request, String operation) {
+        return content(service.createChatCompletion(request), operation);
+    }
+
+    // Same, giving up after timeoutMs when positive: the timeout disposes the call, which cancels the HTTP request
+    private String complete(OpenAiApi api, ChatCompletionRequest request, String operation, long timeoutMs) {
+        Single<ChatCompletionResult> call = api.createChatCompletion(request);
+        if (timeoutMs > 0) {
+            call = call.timeout(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+        return content(OpenAiService.execute(call), operation);
+    }
+
+    private String content(ChatCompletionResult result, String operation) {
+        Usage usage = result.getUsage();
+        if (usage != null) {
+            meterRegistry.counter("ai.tokens", "operation", operation, "type", "prompt").increment(usage.getPromptTokens());
+            meterRegistry.counter("ai.tokens", "operation", operation, "type", "completion").increment(usage.getCompletionTokens());
+        }
+
+        return result.getChoices()
+                .get(0)
+                .getMessage()
+                .getContent();
+    }
+}
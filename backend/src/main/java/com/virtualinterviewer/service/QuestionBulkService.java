@@ -0,0 +1,420 @@
+package com.virtualinterviewer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virtualinterviewer.dto.QuestionImportReport;
+import com.virtualinterviewer.model.InterviewQuestion;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bulk import and export of the question bank as NDJSON (one question object per line) or CSV
+ * (a header row naming the columns). Imports are read one record at a time and saved through the
+ * content store in batches, each committing on its own, so memory use depends on the batch size
+ * rather than the file; rows that fail validation are skipped and reported by line. Exports
+ * stream the active questions straight from the database.
+ */
+@Service
+public class QuestionBulkService {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    // Imports ignore id and createdAt (and active in NDJSON), so an export can be imported back as-is
+    private static final List<String> EXPORT_COLUMNS = List.of("id", "question", "type", "domain", "jobRole",
+            "difficulty", "timeLimitSeconds", "expectedAnswer", "hints", "createdBy", "createdAt");
+    private static final List<String> REQUIRED_COLUMNS = List.of("question", "type", "domain", "jobRole");
+    private static final String IMPORT_CREATED_BY = "ADMIN_IMPORT";
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+    private static final int MAX_TEXT_CHARS = 16_000; // fits a TEXT column even at 4 bytes per character
+    private static final int MAX_NAME_CHARS = 255;
+
+    private final QuestionContentStore contentStore;
+    private final QuestionService questionService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${interview.question-import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${interview.question-import.max-errors:1000}")
+    private int maxErrors;
+
+    public QuestionBulkService(QuestionContentStore contentStore,
+                               QuestionService questionService,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.contentStore = contentStore;
+        this.questionService = questionService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Imports every valid row of the input. Batches commit as they fill, so rows before an
+     * interrupted upload stay imported. Must be called outside a transaction.
+     */
+    public QuestionImportReport importQuestions(InputStream in, Charset charset, boolean csv) throws IOException {
+        long start = System.currentTimeMillis();
+        RecordReader reader = new RecordReader(new BufferedReader(new InputStreamReader(in, charset)), csv);
+        ImportRun run = new ImportRun();
+        if (csv) {
+            importCsv(reader, run);
+        } else {
+            importNdjson(reader, run);
+        }
+        run.flush();
+        if (run.imported > 0) {
+            questionService.markBankEdited();
+        }
+
+        meterRegistry.counter("question.import.rows", "result", "imported").increment(run.imported);
+        meterRegistry.counter("question.import.rows", "result", "duplicate").increment(run.duplicates);
+        meterRegistry.counter("question.import.rows", "result", "failed").increment(run.failed);
+        long duration = System.currentTimeMillis() - start;
+        System.out.println("Imported " + run.imported + " of " + run.rows + " questions in " + duration + " ms ("
+                + run.duplicates + " duplicates, " + run.failed + " failed)");
+        return new QuestionImportReport(run.rows, run.imported, run.duplicates, run.failed, run.errors,
+                run.failed > run.errors.size(), duration);
+    }
+
+    // Active questions in id order, as NDJSON or as CSV with a header row
+    public void exportQuestions(OutputStream out, boolean csv) throws IOException {
+        if (!csv) {
+            questionService.streamActiveQuestions(null, out);
+            return;
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", EXPORT_COLUMNS));
+        writer.write("\r\n");
+        questionService.forEachActiveQuestion(null, question -> {
+            writeCsvRow(writer, question.getId(), question.getQuestion(), question.getType(), question.getDomain(),
+                    question.getJobRole(), question.getDifficulty(), question.getTimeLimitSeconds(),
+                    question.getExpectedAnswer(), question.getHints(), question.getCreatedBy(), question.getCreatedAt());
+        });
+        writer.flush();
+    }
+
+    private void importNdjson(RecordReader reader, ImportRun run) throws IOException {
+        while (reader.next()) {
+            String line = reader.fields.get(0);
+            if (line.isBlank()) {
+                continue;
+            }
+            if (reader.tooLong) {
+                run.reject(reader.startLine, "Row is longer than " + MAX_RECORD_CHARS + " characters");
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                run.reject(reader.startLine, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            if (!node.isObject()) {
+                run.reject(reader.startLine, "Row must be a JSON object");
+                continue;
+            }
+            run.accept(reader.startLine, name -> {
+                JsonNode value = node.get(name);
+                if (value == null || value.isNull()) {
+                    return null;
+                }
+                if (value.isContainerNode()) {
+                    throw new IllegalArgumentException(name + " must be a string or number");
+                }
+                return value.asText();
+            });
+        }
+    }
+
+    private void importCsv(RecordReader reader, ImportRun run) throws IOException {
+        if (!reader.next() || reader.tooLong) {
+            throw new IllegalArgumentException("CSV input must start with a header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < reader.fields.size(); i++) {
+            // Spreadsheet exports often start with a byte order mark
+            String name = i == 0 ? reader.fields.get(i).replace("\uFEFF", "") : reader.fields.get(i);
+            columns.putIfAbsent(name.trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("CSV header is missing the " + required + " column");
+            }
+        }
+        while (reader.next()) {
+            List<String> fields = reader.fields;
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (reader.tooLong) {
+                run.reject(reader.startLine, "Row is longer than " + MAX_RECORD_CHARS + " characters");
+                continue;
+            }
+            run.accept(reader.startLine, name -> {
+                Integer index = columns.get(name.toLowerCase(Locale.ROOT));
+                return index == null || index >= fields.size() ? null : fields.get(index);
+            });
+        }
+    }
+
+    private static InterviewQuestion toQuestion(Function<String, String> field) {
+        InterviewQuestion question = new InterviewQuestion();
+        question.setQuestion(required(field, "question", MAX_TEXT_CHARS));
+        String type = required(field, "type", MAX_NAME_CHARS);
+        try {
+            question.setType(InterviewQuestion.QuestionType.valueOf(type.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("type must be one of TECHNICAL, BEHAVIORAL, CODING");
+        }
+        question.setDomain(required(field, "domain", MAX_NAME_CHARS));
+        question.setJobRole(required(field, "jobRole", MAX_NAME_CHARS));
+        question.setDifficulty(optionalInt(field, "difficulty", 1, 5));
+        question.setTimeLimitSeconds(optionalInt(field, "timeLimitSeconds", 1, 3600));
+        question.setExpectedAnswer(optional(field, "expectedAnswer", MAX_TEXT_CHARS));
+        question.setHints(optional(field, "hints", MAX_TEXT_CHARS));
+        String createdBy = optional(field, "createdBy", MAX_NAME_CHARS);
+        question.setCreatedBy(createdBy != null ? createdBy : IMPORT_CREATED_BY);
+        question.setActive(true);
+        return question;
+    }
+
+    private static String required(Function<String, String> field, String name, int maxChars) {
+        String value = optional(field, name, maxChars);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static String optional(Function<String, String> field, String name, int maxChars) {
+        String value = field.apply(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        if (value.length() > maxChars) {
+            throw new IllegalArgumentException(name + " must be at most " + maxChars + " characters");
+        }
+        return value;
+    }
+
+    private static Integer optionalInt(Function<String, String> field, String name, int min, int max) {
+        String value = optional(field, name, MAX_NAME_CHARS);
+        if (value == null) {
+            return null;
+        }
+        try {
+            int number = Integer.parseInt(value);
+            if (number >= min && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be a whole number from " + min + " to " + max);
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0 || (!value.isEmpty() && (value.charAt(0) == ' ' || value.endsWith(" ")));
+        return quote ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    // Counts and the pending batch for one import
+    private final class ImportRun {
+        private final List<InterviewQuestion> batch = new ArrayList<>();
+        private final List<Long> batchLines = new ArrayList<>();
+        private final List<QuestionImportReport.RowError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long duplicates;
+        private long failed;
+
+        void accept(long line, Function<String, String> field) {
+            rows++;
+            try {
+                batch.add(toQuestion(field));
+                batchLines.add(line);
+            } catch (IllegalArgumentException e) {
+                fail(line, e.getMessage());
+                return;
+            }
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        // A row that could not even be read as a record
+        void reject(long line, String error) {
+            rows++;
+            fail(line, error);
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                count(contentStore.getOrCreate(batch));
+            } catch (RuntimeException e) {
+                // Save the rows one at a time to find the ones the database rejects
+                for (int i = 0; i < batch.size(); i++) {
+                    InterviewQuestion question = batch.get(i);
+                    question.setId(null);
+                    try {
+                        count(contentStore.getOrCreate(List.of(question)));
+                    } catch (RuntimeException rowError) {
+                        fail(batchLines.get(i), "Could not be saved: "
+                                + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                    }
+                }
+            }
+            batch.clear();
+            batchLines.clear();
+        }
+
+        private void count(List<QuestionContentStore.Stored> stored) {
+            for (QuestionContentStore.Stored s : stored) {
+                if (s.created()) {
+                    imported++;
+                } else {
+                    duplicates++;
+                }
+            }
+        }
+
+        private void fail(long line, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new QuestionImportReport.RowError(line, error));
+            }
+        }
+    }
+
+    /**
+     * Reads one record at a time: a line for NDJSON, or a CSV record whose quoted fields may span
+     * lines. Text past MAX_RECORD_CHARS is dropped and the record flagged, so a single huge row
+     * cannot exhaust memory.
+     */
+    private static final class RecordReader {
+        private final Reader in;
+        private final boolean csv;
+        private final List<String> fields = new ArrayList<>();
+        private final StringBuilder field = new StringBuilder();
+        private int pushedBack = -2;
+        private long line = 1;
+        private long startLine;
+        private int length;
+        private boolean tooLong;
+
+        RecordReader(Reader in, boolean csv) {
+            this.in = in;
+            this.csv = csv;
+        }
+
+        // False at the end of the input
+        boolean next() throws IOException {
+            fields.clear();
+            field.setLength(0);
+            length = 0;
+            tooLong = false;
+            int c = read();
+            if (c == -1) {
+                return false;
+            }
+            startLine = line;
+            boolean quoted = false;
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        int following = read();
+                        if (following != '"') {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    append(c);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        int following = read();
+                        if (following != '\n') {
+                            pushedBack = following;
+                        }
+                    }
+                    line++;
+                    break;
+                } else if (csv && c == ',') {
+                    endField();
+                } else if (csv && c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else {
+                    append(c);
+                }
+                c = read();
+            }
+            endField();
+            return true;
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            return in.read();
+        }
+
+        private void append(int c) {
+            if (length++ < MAX_RECORD_CHARS) {
+                field.append((char) c);
+            } else {
+                tooLong = true;
+            }
+        }
+
+        private void endField() {
+            fields.add(field.toString());
+            field.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.InterviewQuestion;
+import com.virtualinterviewer.repository.InterviewQuestionRepository;
+import com.virtualinterviewer.repository.QuestionBankVersionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Content-addressed access to the question bank. Every active question carries a unique hash of
+ * its normalized text, domain, job role and type, and this keeps the hash -> ID map for all of
+ * them in memory, so saving generated questions is a lookup for content already stored and an
+ * insert only for new content. Inserts commit in their own transaction; when another instance
+ * wins the race for the same content, the unique index rejects the copy and its row is used.
+ * Writes on other instances reach the map through a periodic refresh; until then, IDs found in
+ * the map are checked against the primary before they are handed out.
+ */
+@Service
+public class QuestionContentStore {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final InterviewQuestionRepository questionRepository;
+    private final QuestionBankVersionRepository versionRepository;
+    private final QuestionSearchIndex searchIndex;
+    private final QuestionDeduplicator deduplicator;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransaction;
+    private final Map<String, Long> idsByHash = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, String> hashesById = new ConcurrentSkipListMap<>();
+    private final Semaphore insertPermits;
+    // Ids changed on this instance while a refresh runs; the refresh leaves them alone
+    private volatile Set<Long> touchedDuringRefresh;
+
+    public QuestionContentStore(InterviewQuestionRepository questionRepository,
+                                QuestionBankVersionRepository versionRepository,
+                                QuestionSearchIndex searchIndex,
+                                QuestionDeduplicator deduplicator,
+                                MeterRegistry meterRegistry,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${interview.question-store.insert-concurrency:3}") int insertConcurrency) {
+        this.questionRepository = questionRepository;
+        this.versionRepository = versionRepository;
+        this.searchIndex = searchIndex;
+        this.deduplicator = deduplicator;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.insertPermits = new Semaphore(Math.max(1, insertConcurrency));
+        meterRegistry.gauge("question.content.hashes", idsByHash, Map::size);
+    }
+
+    // Runs before the search and duplicate indexes are built, so they never see the rows retired here
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        long start = System.currentTimeMillis();
+        refresh();
+        int[] backfilled = backfill();
+        System.out.println("Loaded " + idsByHash.size() + " question content hashes in " + (System.currentTimeMillis() - start)
+                + " ms (" + backfilled[0] + " backfilled, " + backfilled[1] + " duplicate rows deactivated)");
+    }
+
+    /**
+     * Brings the map in line with interview_questions, a page of (id, hash) rows at a time. Picks up
+     * questions inserted, reworded, deactivated or deleted on other instances; returns how many
+     * mappings changed.
+     */
+    @Scheduled(fixedDelayString = "${interview.question-store.refresh-interval-ms:300000}",
+               initialDelayString = "${interview.question-store.refresh-interval-ms:300000}")
+    public int refresh() {
+        Set<Long> touched = ConcurrentHashMap.newKeySet();
+        touchedDuringRefresh = touched;
+        int changed = 0;
+        try {
+            long afterId = 0;
+            List<Object[]> page;
+            do {
+                page = questionRepository.findContentHashesAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+                // The last page also covers every id above it, so rows deleted at the end are dropped too
+                long toId = page.size() == PAGE_SIZE ? (Long) page.get(page.size() - 1)[0] : Long.MAX_VALUE;
+                Set<Long> seen = new HashSet<>();
+                for (Object[] row : page) {
+                    Long id = (Long) row[0];
+                    String hash = (String) row[1];
+                    seen.add(id);
+                    if (!touched.contains(id) && !hash.equals(hashesById.get(id))) {
+                        drop(id);
+                        store(hash, id);
+                        changed++;
+                    }
+                }
+                for (Long id : new ArrayList<>(hashesById.subMap(afterId, false, toId, true).keySet())) {
+                    if (!seen.contains(id) && !touched.contains(id)) {
+                        drop(id);
+                        changed++;
+                    }
+                }
+                afterId = toId;
+            } while (page.size() == PAGE_SIZE);
+        } finally {
+            touchedDuringRefresh = null;
+        }
+        return changed;
+    }
+
+    // May be stale for writes made on other instances since the last refresh; see currentHashes
+    public Long findId(String contentHash) {
+        return idsByHash.get(contentHash);
+    }
+
+    /**
+     * Content hash of each given question as stored on the primary; deleted and inactive questions
+     * are left out. Mappings that turn out stale are corrected on the way.
+     */
+    public Map<Long, String> currentHashes(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<Object[]> rows = transactionTemplate.execute(status -> questionRepository.findContentHashesByIds(ids));
+        Map<Long, String> current = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                current.put((Long) row[0], (String) row[1]);
+            }
+        }
+        for (Long id : ids) {
+            String hash = current.get(id);
+            if (!Objects.equals(hash, hashesById.get(id))) {
+                remove(id);
+                if (hash != null) {
+                    put(hash, id);
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Stored row for each question in order: the existing one for content already in the bank,
+     * otherwise a newly inserted one. Repeated content within the list is inserted once. Must be
+     * called outside a transaction, as the inserts commit on their own.
+     */
+    public List<Stored> getOrCreate(List<InterviewQuestion> questions) {
+        Stored[] stored = new Stored[questions.size()];
+        String[] hashes = new String[questions.size()];
+        boolean missing = false;
+        for (int i = 0; i < questions.size(); i++) {
+            hashes[i] = hashOf(questions.get(i));
+            Long id = idsByHash.get(hashes[i]);
+            if (id != null) {
+                stored[i] = new Stored(id, false);
+            } else {
+                missing = true;
+            }
+        }
+        // A hit may be a row another instance has since deleted or reworded
+        List<Long> hitIds = Arrays.stream(stored).filter(Objects::nonNull).map(Stored::id).distinct().toList();
+        Map<Long, String> current = currentHashes(hitIds);
+        for (int i = 0; i < stored.length; i++) {
+            if (stored[i] != null && !hashes[i].equals(current.get(stored[i].id()))) {
+                stored[i] = null;
+                missing = true;
+            }
+        }
+        if (missing) {
+            // Bounded: an insert transaction holds a connection while the id generator may take another.
+            // Racing inserts of the same content are settled by the unique index, not by this limit
+            insertPermits.acquireUninterruptibly();
+            try {
+                insertMissing(questions, hashes, stored);
+            } finally {
+                insertPermits.release();
+            }
+        }
+        int hits = 0;
+        for (Stored s : stored) {
+            hits += s.created() ? 0 : 1;
+        }
+        meterRegistry.counter("question.content.lookups", "result", "hit").increment(hits);
+        meterRegistry.counter("question.content.lookups", "result", "miss").increment(stored.length - hits);
+        return Arrays.asList(stored);
+    }
+
+    // Tracks the question's current hash; inactive questions have none
+    public void register(InterviewQuestion question) {
+        if (question.getId() == null) {
+            return;
+        }
+        remove(question.getId());
+        if (question.isActive()) {
+            put(hashOf(question), question.getId());
+        }
+    }
+
+    // Registers the questions once the surrounding transaction commits, or right away without one
+    public void registerAfterCommit(List<InterviewQuestion> questions) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    questions.forEach(QuestionContentStore.this::register);
+                }
+            });
+        } else {
+            questions.forEach(this::register);
+        }
+    }
+
+    public void remove(Long id) {
+        markTouched(id);
+        drop(id);
+    }
+
+    public static String hashOf(InterviewQuestion question) {
+        return InterviewQuestion.contentHashOf(question.getQuestion(), question.getDomain(), question.getJobRole(),
+                question.getType());
+    }
+
+    private void insertMissing(List<InterviewQuestion> questions, String[] hashes, Stored[] stored) {
+        Map<String, Integer> firstByHash = new HashMap<>();
+        List<Integer> toInsert = new ArrayList<>();
+        for (int i = 0; i < questions.size(); i++) {
+            if (stored[i] != null) {
+                continue;
+            }
+            Long id = idsByHash.get(hashes[i]);
+            if (id != null) {
+                stored[i] = new Stored(id, false);
+            } else if (firstByHash.putIfAbsent(hashes[i], i) == null) {
+                toInsert.add(i);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        List<InterviewQuestion> batch = toInsert.stream().map(questions::get).toList();
+        try {
+            newTransaction.executeWithoutResult(status -> questionRepository.saveAll(batch));
+            for (int i : toInsert) {
+                stored[i] = new Stored(questions.get(i).getId(), true);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored some of the content meanwhile; retry one at a time
+            for (int i : toInsert) {
+                stored[i] = insertOne(questions.get(i), hashes[i]);
+            }
+        }
+        List<InterviewQuestion> created = new ArrayList<>();
+        for (int i : toInsert) {
+            if (stored[i].created()) {
+                created.add(questions.get(i));
+                put(hashes[i], stored[i].id());
+            }
+        }
+        searchIndex.indexAfterCommit(created);
+        deduplicator.registerAfterCommit(created);
+
+        for (int i = 0; i < stored.length; i++) {
+            if (stored[i] == null) {
+                Stored first = stored[firstByHash.get(hashes[i])];
+                stored[i] = new Stored(first.id(), false);
+            }
+        }
+    }
+
+    private Stored insertOne(InterviewQuestion question, String hash) {
+        question.setId(null);
+        try {
+            newTransaction.executeWithoutResult(status -> questionRepository.save(question));
+            return new Stored(question.getId(), true);
+        } catch (DataIntegrityViolationException e) {
+            Long id = newTransaction.execute(status -> questionRepository.findIdByContentHash(hash));
+            if (id == null) {
+                throw e;
+            }
+            put(hash, id);
+            return new Stored(id, false);
+        }
+    }
+
+    private void put(String hash, Long id) {
+        markTouched(id);
+        store(hash, id);
+    }
+
+    private void markTouched(Long id) {
+        Set<Long> touched = touchedDuringRefresh;
+        if (touched != null) {
+            touched.add(id);
+        }
+    }
+
+    private void store(String hash, Long id) {
+        idsByHash.put(hash, id);
+        hashesById.put(id, hash);
+    }
+
+    private void drop(Long id) {
+        String hash = hashesById.remove(id);
+        if (hash != null) {
+            idsByHash.remove(hash, id);
+        }
+    }
+
+    // Hashes active rows stored before content hashes existed; later copies of the same content are deactivated
+    private int[] backfill() {
+        int[] counts = new int[2];
+        long afterId = 0;
+        List<Object[]> page;
+        do {
+            page = questionRepository.findUnhashedAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+            List<Object[]> rows = page;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> duplicates = new ArrayList<>();
+                for (Object[] row : rows) {
+                    Long id = (Long) row[0];
+                    String hash = InterviewQuestion.contentHashOf((String) row[1], (String) row[2], (String) row[3],
+                            (InterviewQuestion.QuestionType) row[4]);
+                    if (idsByHash.containsKey(hash)) {
+                        duplicates.add(id);
+                    } else {
+                        questionRepository.updateContentHash(id, hash);
+                        put(hash, id);
+                        counts[0]++;
+                    }
+                }
+                if (!duplicates.isEmpty()) {
+                    questionRepository.deactivate(duplicates);
+                    versionRepository.increment();
+                    counts[1] += duplicates.size();
+                }
+            });
+            if (!page.isEmpty()) {
+                afterId = (Long) page.get(page.size() - 1)[0];
+            }
+        } while (page.size() == PAGE_SIZE);
+        return counts;
+    }
+
+    public record Stored(Long id, boolean created) {}
+}
@@ -0,0 +1,364 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.InterviewQuestion;
+import com.virtualinterviewer.repository.InterviewQuestionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds an existing active question worded nearly the same as a new one, so generated questions
+ * can reuse rows instead of inserting another copy. Each question gets a MinHash signature over
+ * the word bigrams of its normalized text; signatures are split into bands and questions sharing
+ * any band within the same domain, job role, type and difficulty become candidates, which are
+ * then accepted when their estimated Jaccard similarity reaches the threshold. With 8 bands of 4
+ * rows a pair at 0.8 similarity shares a band about 98% of the time (1 - (1 - 0.8^4)^8) and one
+ * at 0.5 about 40% of the time; the threshold check then rejects the latter. Difficulty is part of
+ * the scope so a reused question keeps the difficulty the plan asked for. Writes on this instance
+ * update the index directly; a periodic refresh applies what other instances changed.
+ */
+@Service
+public class QuestionDeduplicator {
+
+    private static final int BANDS = 8;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(HASHES).toArray();
+    private static final int BUILD_PAGE_SIZE = 1000;
+
+    private final InterviewQuestionRepository questionRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final TreeMap<Long, Entry> entries = new TreeMap<>();
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+    // Ids changed on this instance while a refresh runs; the refresh leaves them alone
+    private Set<Long> touchedDuringRefresh;
+
+    @Value("${interview.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${interview.dedup.similarity-threshold:0.8}")
+    private double similarityThreshold;
+
+    public QuestionDeduplicator(InterviewQuestionRepository questionRepository, MeterRegistry meterRegistry) {
+        this.questionRepository = questionRepository;
+        meterRegistry.gauge("question.dedup.index.size", this, QuestionDeduplicator::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        refresh();
+        System.out.println("Indexed " + size() + " questions for near-duplicate detection in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Brings the index in line with interview_questions a page of scalar rows at a time, picking up
+     * questions created, edited, deactivated or deleted on other instances. Returns how many
+     * entries changed.
+     */
+    @Scheduled(fixedDelayString = "${interview.dedup.refresh-interval-ms:300000}",
+               initialDelayString = "${interview.dedup.refresh-interval-ms:300000}")
+    public int refresh() {
+        if (!enabled) {
+            return 0;
+        }
+        lock.writeLock().lock();
+        try {
+            touchedDuringRefresh = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        int changed = 0;
+        try {
+            long afterId = 0;
+            List<Object[]> page;
+            do {
+                page = questionRepository.findSearchRowsAfter(afterId, PageRequest.of(0, BUILD_PAGE_SIZE));
+                // The last page also covers every id above it, so rows deleted at the end are dropped too
+                long toId = page.size() == BUILD_PAGE_SIZE ? (Long) page.get(page.size() - 1)[0] : Long.MAX_VALUE;
+                lock.writeLock().lock();
+                try {
+                    Set<Long> seen = new HashSet<>();
+                    for (Object[] row : page) {
+                        Long id = (Long) row[0];
+                        if (!Boolean.TRUE.equals(row[6])) {
+                            continue;
+                        }
+                        seen.add(id);
+                        if (touchedDuringRefresh.contains(id)) {
+                            continue;
+                        }
+                        String text = (String) row[1];
+                        String scope = scope((String) row[2], (String) row[3], (InterviewQuestion.QuestionType) row[4],
+                                (Integer) row[5]);
+                        Entry entry = entries.get(id);
+                        if (entry != null && entry.scope().equals(scope) && entry.textHash() == Objects.hashCode(text)) {
+                            continue;
+                        }
+                        int[] signature = signature(text);
+                        if (signature == null && entry == null) {
+                            continue;
+                        }
+                        addLocked(id, signature, scope, Objects.hashCode(text));
+                        changed++;
+                    }
+                    for (Long id : new ArrayList<>(entries.subMap(afterId, false, toId, true).keySet())) {
+                        if (!seen.contains(id) && !touchedDuringRefresh.contains(id)) {
+                            removeLocked(id);
+                            changed++;
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                afterId = toId;
+            } while (page.size() == BUILD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                touchedDuringRefresh = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * ID of the most similar active question with the same domain, job role, type and difficulty,
+     * or null if none reaches the similarity threshold. IDs in exclude are never returned.
+     */
+    public Long findDuplicate(String text, String domain, String jobRole, InterviewQuestion.QuestionType type,
+                              Integer difficulty, Set<Long> exclude) {
+        int[] signature = enabled ? signature(text) : null;
+        if (signature == null) {
+            return null;
+        }
+        String scope = scope(domain, jobRole, type, difficulty);
+        lock.readLock().lock();
+        try {
+            Long best = null;
+            double bestSimilarity = similarityThreshold;
+            for (int band = 0; band < BANDS; band++) {
+                Bucket bucket = buckets.get(bandKey(scope, signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.size; i++) {
+                    long id = bucket.ids[i];
+                    Entry entry = entries.get(id);
+                    if (exclude.contains(id) || !entry.scope().equals(scope)) {
+                        continue;
+                    }
+                    double similarity = similarity(signature, entry.signature());
+                    if (similarity >= bestSimilarity) {
+                        best = id;
+                        bestSimilarity = similarity;
+                        if (similarity == 1.0) {
+                            return best;
+                        }
+                    }
+                }
+            }
+            return best;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void register(InterviewQuestion question) {
+        if (!enabled || question.getId() == null) {
+            return;
+        }
+        if (question.isActive()) {
+            add(question.getId(), question.getQuestion(), question.getDomain(), question.getJobRole(), question.getType(),
+                    question.getDifficulty());
+        } else {
+            remove(question.getId());
+        }
+    }
+
+    // Registers the questions once the surrounding transaction commits, or right away without one
+    public void registerAfterCommit(List<InterviewQuestion> questions) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    questions.forEach(QuestionDeduplicator.this::register);
+                }
+            });
+        } else {
+            questions.forEach(this::register);
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Long id, String text, String domain, String jobRole, InterviewQuestion.QuestionType type,
+                     Integer difficulty) {
+        int[] signature = signature(text);
+        String scope = scope(domain, jobRole, type, difficulty);
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            addLocked(id, signature, scope, Objects.hashCode(text));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(Long id, int[] signature, String scope, int textHash) {
+        removeLocked(id);
+        if (signature == null) {
+            return;
+        }
+        entries.put(id, new Entry(scope, signature, textHash));
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(scope, signature, band), k -> new Bucket()).add(id);
+        }
+    }
+
+    private void markTouched(Long id) {
+        if (touchedDuringRefresh != null) {
+            touchedDuringRefresh.add(id);
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(entry.scope(), entry.signature(), band);
+            Bucket bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(id)) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    // Minimum of each seeded hash over the text's word bigrams (the single word for one-word texts)
+    static int[] signature(String text) {
+        List<String> tokens = QuestionSearchIndex.tokens(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, tokens.size() - 1);
+        for (int i = 0; i < shingles; i++) {
+            long shingle = tokens.size() == 1
+                    ? tokens.get(0).hashCode()
+                    : ((long) tokens.get(i).hashCode() << 32) | (tokens.get(i + 1).hashCode() & 0xFFFFFFFFL);
+            for (int h = 0; h < HASHES; h++) {
+                int value = (int) (mix(shingle ^ SEEDS[h]) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int h = 0; h < HASHES; h++) {
+            if (a[h] == b[h]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private static long bandKey(String scope, int[] signature, int band) {
+        long key = scope.hashCode() * 0x9E3779B97F4A7C15L + band;
+        for (int r = band * ROWS; r < (band + 1) * ROWS; r++) {
+            key = mix(key + signature[r]);
+        }
+        return key;
+    }
+
+    private static String scope(String domain, String jobRole, InterviewQuestion.QuestionType type, Integer difficulty) {
+        return (domain == null ? "" : domain.toLowerCase(Locale.ROOT)) + "|"
+                + (jobRole == null ? "" : jobRole.toLowerCase(Locale.ROOT)) + "|" + type + "|" + difficulty;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record Entry(String scope, int[] signature, int textHash) {}
+
+    private static final class Bucket {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        // Swaps the last id into the hole; true once the bucket is empty
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    break;
+                }
+            }
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.InterviewQuestion;
+import com.virtualinterviewer.repository.InterviewQuestionRepository;
+import com.virtualinterviewer.repository.PooledQuestionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pre-generated AI questions per (domain, jobRole, difficulty), so interviews can draw their plan
+ * without calling the LLM on the request path. Pooled questions are ordinary AI_SYSTEM rows in
+ * interview_questions with an entry in question_pool until drawn; claiming deletes the entry and never
+ * writes interview_questions. A scheduler tops every recently requested pool up to the watermark.
+ */
+@Service
+public class QuestionPoolService {
+
+    public static final String DRAWN_CREATED_BY = "AI_SYSTEM";
+    private static final String[] DIFFICULTY_LABELS = {"Easy", "Medium", "Hard"};
+
+    private final InterviewQuestionRepository questionRepository;
+    private final PooledQuestionRepository poolRepository;
+    private final AIService aiService;
+    private final MeterRegistry meterRegistry;
+    private final QuestionContentStore contentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<PoolKey, Queue<Long>> pools = new ConcurrentHashMap<>();
+    // (domain, jobRole) pairs and the last time an interview asked for them
+    private final Map<RoleKey, Long> demand = new ConcurrentHashMap<>();
+
+    @Value("${interview.pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${interview.pool.watermark:10}")
+    private int watermark;
+
+    @Value("${interview.pool.max-generations-per-cycle:20}")
+    private int maxGenerationsPerCycle;
+
+    @Value("${interview.pool.idle-minutes:1440}")
+    private long idleMinutes;
+
+    public QuestionPoolService(InterviewQuestionRepository questionRepository,
+                               PooledQuestionRepository poolRepository,
+                               AIService aiService,
+                               MeterRegistry meterRegistry,
+                               QuestionContentStore contentStore,
+                               PlatformTransactionManager transactionManager) {
+        this.questionRepository = questionRepository;
+        this.poolRepository = poolRepository;
+        this.aiService = aiService;
+        this.meterRegistry = meterRegistry;
+        this.contentStore = contentStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("interview.pool.size", pools, p -> p.values().stream().mapToInt(Queue::size).sum());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes one pooled question ID for the given key, or null if that pool is empty.
+     * Every call also registers demand so the scheduler keeps the pair topped up.
+     */
+    public Long draw(String domain, String jobRole, String difficultyLabel) {
+        demand.put(new RoleKey(domain, jobRole), System.currentTimeMillis());
+        Queue<Long> pool = pools.get(new PoolKey(domain, jobRole, difficultyLabel));
+        Long id = pool != null ? pool.poll() : null;
+        meterRegistry.counter("interview.pool.draws", "result", id != null ? "hit" : "miss").increment();
+        return id;
+    }
+
+    /**
+     * Claims drawn IDs by deleting their pool entries, so they are not reloaded into the pool on
+     * restart. Every instance loads the same entries, so an ID another instance has already claimed
+     * is dropped; only the IDs claimed here are returned.
+     */
+    @Transactional
+    public List<Long> claim(List<Long> ids) {
+        List<Long> claimed = new ArrayList<>();
+        for (Long id : ids) {
+            if (poolRepository.deleteEntry(id) == 1) {
+                claimed.add(id);
+            } else {
+                meterRegistry.counter("interview.pool.draws", "result", "taken").increment();
+            }
+        }
+        return claimed;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPools() {
+        if (!enabled) {
+            return;
+        }
+        List<Object[]> entries = poolRepository.findActiveEntries();
+        for (Object[] entry : entries) {
+            String domain = (String) entry[1];
+            String jobRole = (String) entry[2];
+            pools.computeIfAbsent(new PoolKey(domain, jobRole, (String) entry[3]), k -> new ConcurrentLinkedQueue<>()).add((Long) entry[0]);
+            demand.putIfAbsent(new RoleKey(domain, jobRole), System.currentTimeMillis());
+        }
+        System.out.println("Loaded " + entries.size() + " pooled questions");
+    }
+
+    @Scheduled(fixedDelayString = "${interview.pool.refill-interval-ms:30000}", initialDelayString = "${interview.pool.refill-interval-ms:30000}")
+    public void replenish() {
+        if (!enabled) {
+            return;
+        }
+        long idleCutoff = System.currentTimeMillis() - idleMinutes * 60_000;
+        demand.entrySet().removeIf(e -> e.getValue() < idleCutoff);
+
+        // Budget caps LLM calls per cycle so refills are smoothed rather than bursty
+        int budget = maxGenerationsPerCycle;
+        for (RoleKey role : demand.keySet()) {
+            for (String label : DIFFICULTY_LABELS) {
+                if (budget <= 0) {
+                    return;
+                }
+                PoolKey key = new PoolKey(role.domain(), role.jobRole(), label);
+                Queue<Long> pool = pools.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+                int missing = Math.min(watermark - pool.size(), budget);
+                if (missing > 0) {
+                    budget -= missing;
+                    refill(key, pool, missing);
+                }
+            }
+        }
+    }
+
+    private void refill(PoolKey key, Queue<Long> pool, int count) {
+        List<InterviewQuestion> generated = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            try {
+                String text = aiService.generateQuestion(key.jobRole(), key.domain(), key.difficultyLabel(), null);
+                generated.add(newPooledQuestion(key, text));
+            } catch (Exception e) {
+                System.err.println("Pool refill failed for " + key + ": " + e.getMessage());
+                break;
+            }
+        }
+        if (generated.isEmpty()) {
+            return;
+        }
+        // Only new content is pooled; a repeat of a stored question would hand out an ID already in use
+        List<Long> created = new ArrayList<>();
+        for (QuestionContentStore.Stored stored : contentStore.getOrCreate(generated)) {
+            if (stored.created()) {
+                created.add(stored.id());
+            }
+        }
+        if (created.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            created.forEach(id -> poolRepository.insertEntry(id, key.domain(), key.jobRole(), key.difficultyLabel(), now));
+        });
+        pool.addAll(created);
+        meterRegistry.counter("interview.pool.generated").increment(created.size());
+    }
+
+    private InterviewQuestion newPooledQuestion(PoolKey key, String text) {
+        InterviewQuestion question = new InterviewQuestion();
+        question.setQuestion(text);
+        question.setDomain(key.domain());
+        question.setJobRole(key.jobRole());
+        question.setType(InterviewQuestion.QuestionType.TECHNICAL);
+        question.setDifficulty(difficultyScale(key.difficultyLabel()));
+        question.setTimeLimitSeconds(120);
+        question.setActive(true);
+        question.setCreatedBy(DRAWN_CREATED_BY);
+        return question;
+    }
+
+    // Pooled questions map Easy/Medium/Hard onto the 1-5 scale as 1/3/5
+    private static int difficultyScale(String label) {
+        return switch (label) {
+            case "Easy" -> 1;
+            case "Hard" -> 5;
+            default -> 3;
+        };
+    }
+
+    private static String difficultyLabel(Integer scale) {
+        if (scale == null) {
+            return "Medium";
+        }
+        return scale <= 2 ? "Easy" : scale >= 4 ? "Hard" : "Medium";
+    }
+
+    private record RoleKey(String domain, String jobRole) {}
+
+    private record PoolKey(String domain, String jobRole, String difficultyLabel) {}
+}
@@ -0,0 +1,436 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.InterviewQuestion;
+import com.virtualinterviewer.repository.InterviewQuestionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the active questions of the bank, ranked with BM25. Built at
+ * startup from interview_questions and updated whenever questions are saved or deleted through
+ * the services on this instance; a periodic refresh applies what other instances changed.
+ * Postings are packed (ordinal << 16 | term frequency) into growable long arrays; a removed
+ * question leaves dead entries that are compacted out of a term's list once they outnumber
+ * the live ones, and its slot is reclaimed when the live documents are renumbered once free
+ * slots outnumber them, so deletes and updates stay amortized O(terms of the question).
+ */
+@Service
+public class QuestionSearchIndex {
+
+    private static final Pattern TOKEN = Pattern.compile("[a-z0-9][a-z0-9+#]*");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "can", "do", "does", "for", "from", "how", "i",
+            "in", "is", "it", "of", "on", "or", "that", "the", "this", "to", "what", "when", "which", "why",
+            "with", "would", "you", "your");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int BUILD_PAGE_SIZE = 1000;
+
+    private final InterviewQuestionRepository questionRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final TreeMap<Long, Integer> ordinalsById = new TreeMap<>();
+    private long totalLength;
+    private int liveDocs;
+    // Ids changed on this instance while a refresh runs; the refresh leaves them alone
+    private Set<Long> touchedDuringRefresh;
+
+    public QuestionSearchIndex(InterviewQuestionRepository questionRepository, MeterRegistry meterRegistry) {
+        this.questionRepository = questionRepository;
+        meterRegistry.gauge("question.search.index.size", this, QuestionSearchIndex::size);
+        meterRegistry.gauge("question.search.index.terms", this, QuestionSearchIndex::termCount);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        refresh();
+        System.out.println("Indexed " + size() + " questions for search in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Brings the index in line with interview_questions, a page of scalar rows at a time, so it
+     * neither fills the persistence context nor the entity cache. Picks up questions created,
+     * edited, deactivated or deleted on other instances; returns how many documents changed.
+     */
+    @Scheduled(fixedDelayString = "${interview.question-search.refresh-interval-ms:300000}",
+               initialDelayString = "${interview.question-search.refresh-interval-ms:300000}")
+    public int refresh() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringRefresh = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        int changed = 0;
+        try {
+            long afterId = 0;
+            List<Object[]> page;
+            do {
+                page = questionRepository.findSearchRowsAfter(afterId, PageRequest.of(0, BUILD_PAGE_SIZE));
+                // The last page also covers every id above it, so rows deleted at the end are dropped too
+                long toId = page.size() == BUILD_PAGE_SIZE ? (Long) page.get(page.size() - 1)[0] : Long.MAX_VALUE;
+                lock.writeLock().lock();
+                try {
+                    Set<Long> seen = new HashSet<>();
+                    for (Object[] row : page) {
+                        Long id = (Long) row[0];
+                        seen.add(id);
+                        if (touchedDuringRefresh.contains(id) || isCurrent(id, row)) {
+                            continue;
+                        }
+                        indexLocked(id, tokenize((String) row[1]), textHash((String) row[1]), (String) row[2], (String) row[3],
+                                (InterviewQuestion.QuestionType) row[4], (Integer) row[5], (Boolean) row[6]);
+                        changed++;
+                    }
+                    for (Long id : new ArrayList<>(ordinalsById.subMap(afterId, false, toId, true).keySet())) {
+                        if (!seen.contains(id) && !touchedDuringRefresh.contains(id)) {
+                            removeLocked(id);
+                            changed++;
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                afterId = toId;
+            } while (page.size() == BUILD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                touchedDuringRefresh = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return changed;
+    }
+
+    public void index(InterviewQuestion question) {
+        index(question.getId(), question.getQuestion(), question.getDomain(), question.getJobRole(),
+                question.getType(), question.getDifficulty(), question.isActive());
+    }
+
+    // Indexes the questions once the surrounding transaction commits, or right away without one
+    public void indexAfterCommit(List<InterviewQuestion> questions) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    questions.forEach(QuestionSearchIndex.this::index);
+                }
+            });
+        } else {
+            questions.forEach(this::index);
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active questions matching any query term, best BM25 score first. Filters are exact
+     * (domain and job role ignoring case); null filters match everything.
+     */
+    public Result search(String query, String domain, String jobRole, InterviewQuestion.QuestionType type,
+                         Integer difficulty, int offset, int limit) {
+        Map<String, Integer> queryTerms = tokenize(query);
+        lock.readLock().lock();
+        try {
+            if (queryTerms.isEmpty() || liveDocs == 0) {
+                return new Result(0, List.of());
+            }
+            double avgLength = (double) totalLength / liveDocs;
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : queryTerms.keySet()) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    continue;
+                }
+                Postings list = postings.get(termId);
+                if (list.live == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveDocs - list.live + 0.5) / (list.live + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int ordinal = (int) (list.entries[i] >>> 16);
+                    Doc doc = docs.get(ordinal);
+                    if (doc == null || !doc.matches(domain, jobRole, type, difficulty)) {
+                        continue;
+                    }
+                    int tf = (int) (list.entries[i] & 0xFFFF);
+                    double norm = tf + K1 * (1 - B + B * doc.length / avgLength);
+                    scores.merge(ordinal, idf * tf * (K1 + 1) / norm, Double::sum);
+                }
+            }
+
+            int wanted = offset + limit;
+            PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(top);
+            ranked.sort(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder()));
+            List<Hit> hits = new ArrayList<>();
+            for (int i = offset; i < ranked.size(); i++) {
+                Map.Entry<Integer, Double> entry = ranked.get(i);
+                hits.add(new Hit(docs.get(entry.getKey()).id, Math.round(entry.getValue() * 1000.0) / 1000.0));
+            }
+            return new Result(scores.size(), hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(Long id, String text, String domain, String jobRole, InterviewQuestion.QuestionType type,
+                       Integer difficulty, Boolean active) {
+        if (id == null) {
+            return;
+        }
+        Map<String, Integer> terms = tokenize(text);
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            indexLocked(id, terms, textHash(text), domain, jobRole, type, difficulty, active);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Inactive questions are left out entirely, so they never count toward document frequencies or lengths
+    private void indexLocked(Long id, Map<String, Integer> terms, int textHash, String domain, String jobRole,
+                             InterviewQuestion.QuestionType type, Integer difficulty, Boolean active) {
+        removeLocked(id);
+        if (!Boolean.TRUE.equals(active)) {
+            return;
+        }
+        int ordinal = docs.size();
+        int[] docTermIds = new int[terms.size()];
+        int length = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            int termId = termIds.computeIfAbsent(term.getKey(), t -> {
+                postings.add(new Postings());
+                return postings.size() - 1;
+            });
+            postings.get(termId).add(ordinal, Math.min(term.getValue(), 0xFFFF));
+            docTermIds[i++] = termId;
+            length += term.getValue();
+        }
+        docs.add(new Doc(id, textHash, domain, jobRole, type, difficulty, length, docTermIds));
+        ordinalsById.put(id, ordinal);
+        totalLength += length;
+        liveDocs++;
+    }
+
+    private void markTouched(Long id) {
+        if (touchedDuringRefresh != null) {
+            touchedDuringRefresh.add(id);
+        }
+    }
+
+    // Whether the row (id, question, domain, jobRole, type, difficulty, isActive) is indexed as it is
+    private boolean isCurrent(Long id, Object[] row) {
+        Integer ordinal = ordinalsById.get(id);
+        if (!Boolean.TRUE.equals(row[6])) {
+            return ordinal == null;
+        }
+        if (ordinal == null) {
+            return false;
+        }
+        Doc doc = docs.get(ordinal);
+        return doc.textHash == textHash((String) row[1])
+                && Objects.equals(doc.domain, row[2])
+                && Objects.equals(doc.jobRole, row[3])
+                && doc.type == row[4]
+                && Objects.equals(doc.difficulty, row[5]);
+    }
+
+    private static int textHash(String text) {
+        return text == null ? 0 : text.hashCode();
+    }
+
+    private void removeLocked(Long id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        Doc doc = docs.set(ordinal, null);
+        for (int termId : doc.termIds) {
+            Postings list = postings.get(termId);
+            list.live--;
+            if (list.size - list.live > list.live) {
+                list.compact(docs);
+            }
+        }
+        totalLength -= doc.length;
+        liveDocs--;
+        if (docs.size() > 64 && docs.size() - liveDocs > liveDocs) {
+            renumber();
+        }
+    }
+
+    // Gives the live documents dense ordinals again; postings drop removed entries on the way
+    private void renumber() {
+        int[] newOrdinals = new int[docs.size()];
+        List<Doc> live = new ArrayList<>(liveDocs);
+        for (int ordinal = 0; ordinal < docs.size(); ordinal++) {
+            Doc doc = docs.get(ordinal);
+            newOrdinals[ordinal] = doc == null ? -1 : live.size();
+            if (doc != null) {
+                ordinalsById.put(doc.id, live.size());
+                live.add(doc);
+            }
+        }
+        for (Postings list : postings) {
+            list.renumber(newOrdinals);
+        }
+        docs.clear();
+        docs.addAll(live);
+    }
+
+    // Term -> frequency; lower-cased, stop words dropped, simple plurals folded to the singular
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        for (String token : tokens(text)) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        return terms;
+    }
+
+    // The same normalized terms in text order
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(stem(token));
+            }
+        }
+        return tokens;
+    }
+
+    private static String stem(String token) {
+        if (token.length() > 4 && token.endsWith("ies")) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us") && !token.endsWith("is")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    public record Hit(long id, double score) {}
+
+    public record Result(long total, List<Hit> hits) {}
+
+    private record Doc(long id, int textHash, String domain, String jobRole, InterviewQuestion.QuestionType type,
+                       Integer difficulty, int length, int[] termIds) {
+
+        boolean matches(String domainFilter, String jobRoleFilter, InterviewQuestion.QuestionType typeFilter,
+                        Integer difficultyFilter) {
+            return (domainFilter == null || domainFilter.equalsIgnoreCase(domain))
+                    && (jobRoleFilter == null || jobRoleFilter.equalsIgnoreCase(jobRole))
+                    && (typeFilter == null || typeFilter == type)
+                    && (difficultyFilter == null || difficultyFilter.equals(difficulty));
+        }
+    }
+
+    private static final class Postings {
+        private long[] entries = new long[4];
+        private int size;
+        private int live;
+
+        void add(int ordinal, int tf) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = ((long) ordinal << 16) | tf;
+            live++;
+        }
+
+        // Drops entries of removed questions
+        void compact(List<Doc> docs) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (docs.get((int) (entries[i] >>> 16)) != null) {
+                    entries[kept++] = entries[i];
+                }
+            }
+            size = kept;
+            if (entries.length > 16 && size < entries.length / 4) {
+                entries = Arrays.copyOf(entries, Math.max(4, size * 2));
+            }
+        }
+
+        // Rewrites ordinals after the documents were renumbered; -1 marks a removed document
+        void renumber(int[] newOrdinals) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = newOrdinals[(int) (entries[i] >>> 16)];
+                if (ordinal >= 0) {
+                    entries[kept++] = ((long) ordinal << 16) | (entries[i] & 0xFFFF);
+                }
+            }
+            size = kept;
+        }
+    }
+}
@@ -1,49 +1,350 @@
 package com.virtualinterviewer.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.virtualinterviewer.config.QuestionCacheConfig;
+import com.virtualinterviewer.dto.QuestionPage;
 import com.virtualinterviewer.model.InterviewQuestion;
 import com.virtualinterviewer.repository.InterviewQuestionRepository;
+import com.virtualinterviewer.repository.PooledQuestionRepository;
+import com.virtualinterviewer.repository.QuestionBankVersionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
 public class QuestionService {
 
+    private static final String STREAM_QUERY =
+            "select q from InterviewQuestion q where q.isActive = true and q.id > :afterId order by q.id";
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+
     private final InterviewQuestionRepository questionRepository;
+    private final QuestionBankVersionRepository versionRepository;
+    private final PooledQuestionRepository pooledQuestionRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager hibernateCacheManager;
+    private final QuestionSearchIndex searchIndex;
+    private final QuestionDeduplicator deduplicator;
+    private final QuestionContentStore contentStore;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int streamFetchSize;
 
-    public QuestionService(InterviewQuestionRepository questionRepository) {
+    public QuestionService(InterviewQuestionRepository questionRepository,
+                           QuestionBankVersionRepository versionRepository,
+                           PooledQuestionRepository pooledQuestionRepository,
+                           EntityManager entityManager,
+                           EntityManagerFactory entityManagerFactory,
+                           CacheManager hibernateCacheManager,
+                           QuestionSearchIndex searchIndex,
+                           QuestionDeduplicator deduplicator,
+                           QuestionContentStore contentStore,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${interview.question-export.fetch-size:-2147483648}") int streamFetchSize) {
         this.questionRepository = questionRepository;
+        this.versionRepository = versionRepository;
+        this.pooledQuestionRepository = pooledQuestionRepository;
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.hibernateCacheManager = hibernateCacheManager;
+        this.searchIndex = searchIndex;
+        this.deduplicator = deduplicator;
+        this.contentStore = contentStore;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    /**
+     * Version of the active questions as listed: the active count and highest id change with every
+     * insert, the edit counter with every admin edit or deactivation. Sessions or instances
+     * drawing ids from their own blocks make the highest id alone miss inserts below it.
+     */
+    private String bankVersion() {
+        Object[] activeRows = questionRepository.findActiveCountAndMaxId().get(0);
+        Long edits = versionRepository.findCurrent();
+        return activeRows[0] + "." + activeRows[1] + "." + (edits != null ? edits : 0);
+    }
+
+    /**
+     * One page of active questions in id order, read in the same read-only transaction as the bank
+     * version it is served with. When notModified accepts that version the page is not read.
+     * cursor is the nextCursor of the previous page, or null for the first page.
+     */
+    public QuestionPage getActiveQuestionPage(String cursor, int limit, Predicate<String> notModified) {
+        Long afterId = decodeCursor(cursor);
+        return readOnlyTransaction.execute(status -> {
+            String version = bankVersion();
+            if (notModified.test(version)) {
+                return new QuestionPage(version, null, null);
+            }
+            // One extra row tells us whether another page follows
+            List<InterviewQuestion> rows = questionRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(
+                    afterId, PageRequest.of(0, limit + 1));
+            if (rows.size() <= limit) {
+                return new QuestionPage(version, rows, null);
+            }
+            List<InterviewQuestion> items = rows.subList(0, limit);
+            return new QuestionPage(version, items, encodeCursor(items.get(limit - 1).getId()));
+        });
+    }
+
+    // Every active question after the cursor as one JSON object per line
+    public void streamActiveQuestions(String cursor, OutputStream out) throws IOException {
+        streamActiveQuestions(cursor, version -> true, out);
+    }
+
+    // As above; proceed sees the bank version first and can decline, e.g. when the client's copy is current
+    public void streamActiveQuestions(String cursor, Predicate<String> proceed, OutputStream out) throws IOException {
+        forEachActiveQuestion(cursor, proceed, question -> {
+            out.write(objectMapper.writeValueAsBytes(question));
+            out.write('\n');
+        });
+        out.flush();
+    }
+
+    public void forEachActiveQuestion(String cursor, QuestionWriter writer) throws IOException {
+        forEachActiveQuestion(cursor, version -> true, writer);
+    }
+
+    /**
+     * Hands every active question after the cursor to the writer in id order, read through a
+     * forward-only cursor. The persistence context is cleared as it goes and the entity cache is
+     * bypassed, so memory stays flat however large the bank is. The bank version is read in the
+     * same transaction and given to proceed first; nothing is written when it returns false.
+     */
+    public void forEachActiveQuestion(String cursor, Predicate<String> proceed, QuestionWriter writer) throws IOException {
+        Long afterId = decodeCursor(cursor);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                if (!proceed.test(bankVersion())) {
+                    return;
+                }
+                try (Stream<InterviewQuestion> questions = entityManager.createQuery(STREAM_QUERY, InterviewQuestion.class)
+                        .setParameter("afterId", afterId)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                        .getResultStream()) {
+                    int written = 0;
+                    for (InterviewQuestion question : (Iterable<InterviewQuestion>) questions::iterator) {
+                        writer.write(question);
+                        if (++written % STREAM_CLEAR_INTERVAL == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    public interface QuestionWriter {
+        void write(InterviewQuestion question) throws IOException;
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
     }
 
-    public List<InterviewQuestion> getAllActiveQuestions() {
-        return questionRepository.findAllByIsActiveTrue();
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
     }
 
+    // Cached lists are read on the primary, so a lagging replica's rows are never cached for the TTL
+    @Transactional
     public List<InterviewQuestion> getQuestionsByDomainAndJobRole(String domain, String jobRole) {
         return questionRepository.findByDomainAndJobRole(domain, jobRole);
     }
 
+    @Transactional
     public List<InterviewQuestion> getQuestionsByType(String type, String domain) {
         return questionRepository.findByTypeAndDomain(type, domain);
     }
 
+    @Transactional(readOnly = true)
     public Optional<InterviewQuestion> getQuestionById(Long id) {
         return questionRepository.findById(id);
     }
 
+    // Checked on the primary, right before an admin write
+    public boolean questionExists(Long id) {
+        return questionRepository.existsById(id);
+    }
+
+    // Writes go through the session, so Hibernate evicts the changed entity; the version bump drops the cached question lists on commit
+    @Transactional
     public InterviewQuestion createQuestion(InterviewQuestion question) {
-        return questionRepository.save(question);
+        requireUniqueContent(question);
+        InterviewQuestion saved = questionRepository.save(question);
+        versionRepository.increment();
+        searchIndex.indexAfterCommit(List.of(saved));
+        deduplicator.registerAfterCommit(List.of(saved));
+        contentStore.registerAfterCommit(List.of(saved));
+        return saved;
     }
 
+    @Transactional
     public InterviewQuestion updateQuestion(InterviewQuestion question) {
-        return questionRepository.save(question);
+        requireUniqueContent(question);
+        InterviewQuestion saved = questionRepository.save(question);
+        versionRepository.increment();
+        searchIndex.indexAfterCommit(List.of(saved));
+        deduplicator.registerAfterCommit(List.of(saved));
+        contentStore.registerAfterCommit(List.of(saved));
+        return saved;
+    }
+
+    // After an admin import, so the imported questions show up in cached lists without waiting for the TTL
+    @Transactional
+    public void markBankEdited() {
+        versionRepository.increment();
     }
 
+    @Transactional
     public void deleteQuestion(Long id) {
         questionRepository.deleteById(id);
+        // A pool entry would otherwise let an interview claim the deleted row
+        pooledQuestionRepository.deleteEntry(id);
+        versionRepository.increment();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                searchIndex.remove(id);
+                deduplicator.remove(id);
+                contentStore.remove(id);
+            }
+        });
     }
 
+    // Active questions are unique by content; the unique index would reject the row at commit anyway.
+    // Asks the database, as the content store's map may lag behind writes made on other instances
+    private void requireUniqueContent(InterviewQuestion question) {
+        Long existingId = questionRepository.findIdByContentHash(QuestionContentStore.hashOf(question));
+        if (question.isActive() && existingId != null && !existingId.equals(question.getId())) {
+            throw new IllegalArgumentException("Question " + existingId + " already has the same text, domain, job role and type");
+        }
+    }
+
+    /**
+     * Ranked search over active questions. Hits are resolved through the entity cache and
+     * returned best first, each with its relevance score.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> searchQuestions(String query, String domain, String jobRole, String type,
+                                               Integer difficulty, int offset, int limit) {
+        InterviewQuestion.QuestionType questionType = null;
+        if (type != null && !type.isBlank()) {
+            try {
+                questionType = InterviewQuestion.QuestionType.valueOf(type.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown question type: " + type);
+            }
+        }
+        QuestionSearchIndex.Result result = searchIndex.search(query, blankToNull(domain), blankToNull(jobRole),
+                questionType, difficulty, offset, limit);
+
+        Map<Long, InterviewQuestion> questions = new HashMap<>();
+        for (InterviewQuestion question : questionRepository.findAllById(
+                result.hits().stream().map(QuestionSearchIndex.Hit::id).toList())) {
+            questions.put(question.getId(), question);
+        }
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (QuestionSearchIndex.Hit hit : result.hits()) {
+            InterviewQuestion question = questions.get(hit.id());
+            if (question != null) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("score", hit.score());
+                item.put("question", question);
+                items.add(item);
+            }
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("total", result.total());
+        response.put("items", items);
+        return response;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    @Transactional
     public List<InterviewQuestion> getQuestionsByDifficultyLevel(String domain, Integer difficulty) {
         return questionRepository.findByDomainAndDifficultyAndIsActiveTrue(domain, difficulty);
     }
+
+    // Hit/miss/put counts and sizes of the question entity and query-result regions since startup
+    public Map<String, Object> getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entities", regionStatistics(
+                statistics.getDomainDataRegionStatistics(QuestionCacheConfig.QUESTION_REGION), QuestionCacheConfig.QUESTION_REGION));
+        result.put("queries", regionStatistics(
+                statistics.getQueryRegionStatistics(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME),
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME));
+        result.put("queryExecutions", statistics.getQueryExecutionCount());
+        result.put("statisticsSince", statistics.getStart());
+        return result;
+    }
+
+    private Map<String, Object> regionStatistics(CacheRegionStatistics region, String cacheName) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hits = region != null ? region.getHitCount() : 0;
+        long misses = region != null ? region.getMissCount() : 0;
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("puts", region != null ? region.getPutCount() : 0);
+        stats.put("hitRatio", hits + misses > 0 ? Math.round(hits * 1000.0 / (hits + misses)) / 1000.0 : 0.0);
+        Cache<?, ?> cache = hibernateCacheManager.getCache(cacheName).unwrap(Cache.class);
+        stats.put("size", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> stats.put("maxSize", eviction.getMaximum()));
+        cache.policy().expireAfterWrite().ifPresent(expiry -> stats.put("ttlSeconds", expiry.getExpiresAfter(TimeUnit.SECONDS)));
+        return stats;
+    }
 }
@@ -0,0 +1,184 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.ResumeProfile;
+import com.virtualinterviewer.repository.ResumeProfileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Condenses a raw resume into a short skills/experience profile that is reused in every
+ * prompt of an interview instead of the full text. Profiles are cached by resume hash in
+ * memory and in resume_profiles, so repeat interviews with the same resume skip condensation.
+ */
+@Service
+public class ResumeProfileService {
+
+    private static final String[] SKILL_KEYWORDS = {
+            "java", "spring", "spring boot", "hibernate", "kotlin", "scala", "python", "django", "flask",
+            "javascript", "typescript", "react", "angular", "vue", "node.js", "express", "go", "golang",
+            "rust", "c++", "c#", ".net", "ruby", "rails", "php", "swift", "android", "ios",
+            "sql", "mysql", "postgresql", "oracle", "mongodb", "redis", "cassandra", "elasticsearch",
+            "kafka", "rabbitmq", "spark", "hadoop", "airflow", "aws", "azure", "gcp", "docker",
+            "kubernetes", "terraform", "jenkins", "ci/cd", "git", "linux", "microservices", "rest",
+            "graphql", "grpc", "distributed systems", "system design", "machine learning", "deep learning",
+            "pytorch", "tensorflow", "nlp", "data structures", "algorithms", "agile", "scrum", "leadership"
+    };
+    // Compiled once; matched as whole words against the lower-cased resume
+    private static final Pattern[] SKILL_PATTERNS = Arrays.stream(SKILL_KEYWORDS)
+            .map(keyword -> Pattern.compile("(?<![a-z0-9])" + Pattern.quote(keyword) + "(?![a-z0-9])"))
+            .toArray(Pattern[]::new);
+    private static final Pattern YEARS = Pattern.compile("(\\d{1,2})\\+?\\s*(?:years|yrs)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ROLE = Pattern.compile(
+            "\\b((?:senior|junior|lead|principal|staff)?\\s*(?:software|backend|frontend|full[- ]stack|data|ml|devops|cloud|mobile)?\\s*" +
+            "(?:engineer|developer|architect|scientist|analyst|manager|intern))\\b", Pattern.CASE_INSENSITIVE);
+
+    private final ResumeProfileRepository profileRepository;
+    private final AIService aiService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, String> cache;
+
+    @Value("${interview.resume.summarizer:local}")
+    private String summarizer; // local | llm
+
+    @Value("${interview.resume.max-profile-chars:600}")
+    private int maxProfileChars;
+
+    public ResumeProfileService(ResumeProfileRepository profileRepository,
+                                AIService aiService,
+                                MeterRegistry meterRegistry,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${interview.resume.cache-size:5000}") int cacheSize) {
+        this.profileRepository = profileRepository;
+        this.aiService = aiService;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // Returns the compact profile for the resume, or null when there is no resume
+    public String condense(String resumeContent) {
+        if (resumeContent == null || resumeContent.isBlank()) {
+            return null;
+        }
+        String hash = hash(resumeContent);
+
+        synchronized (cache) {
+            String cached = cache.get(hash);
+            if (cached != null) {
+                meterRegistry.counter("interview.resume.profile", "result", "cache_hit").increment();
+                return cached;
+            }
+        }
+
+        Optional<ResumeProfile> stored = profileRepository.findById(hash);
+        String profile;
+        if (stored.isPresent()) {
+            profile = stored.get().getProfile();
+            meterRegistry.counter("interview.resume.profile", "result", "db_hit").increment();
+        } else {
+            String condensed = summarize(resumeContent);
+            // Upsert: another instance may store the same resume between the lookup and this write
+            transactionTemplate.executeWithoutResult(status ->
+                    profileRepository.insertIfAbsent(hash, condensed, LocalDateTime.now()));
+            profile = condensed;
+            meterRegistry.counter("interview.resume.profile", "result", "condensed").increment();
+        }
+
+        synchronized (cache) {
+            cache.put(hash, profile);
+        }
+        return profile;
+    }
+
+    private String summarize(String resumeContent) {
+        if ("llm".equalsIgnoreCase(summarizer)) {
+            try {
+                String profile = aiService.summarizeResume(resumeContent);
+                if (profile != null && !profile.isBlank()) {
+                    return truncate(profile.trim());
+                }
+            } catch (Exception e) {
+                System.err.println("AI resume summarization failed, using keyword extraction: " + e.getMessage());
+            }
+        }
+        return extractKeywords(resumeContent);
+    }
+
+    private String extractKeywords(String resumeContent) {
+        String text = resumeContent.toLowerCase();
+
+        Set<String> skills = new LinkedHashSet<>();
+        for (int i = 0; i < SKILL_KEYWORDS.length; i++) {
+            if (SKILL_PATTERNS[i].matcher(text).find()) {
+                skills.add(SKILL_KEYWORDS[i]);
+            }
+        }
+
+        int maxYears = 0;
+        Matcher years = YEARS.matcher(resumeContent);
+        while (years.find()) {
+            maxYears = Math.max(maxYears, Integer.parseInt(years.group(1)));
+        }
+
+        Set<String> roles = new LinkedHashSet<>();
+        Matcher role = ROLE.matcher(resumeContent);
+        while (role.find() && roles.size() < 3) {
+            roles.add(role.group(1).trim().replaceAll("\\s+", " "));
+        }
+
+        List<String> parts = new ArrayList<>();
+        if (!skills.isEmpty()) {
+            parts.add("Skills: " + String.join(", ", skills));
+        }
+        if (maxYears > 0) {
+            parts.add("Experience: " + maxYears + "+ years");
+        }
+        if (!roles.isEmpty()) {
+            parts.add("Roles: " + String.join(", ", roles));
+        }
+        if (parts.isEmpty()) {
+            // Nothing recognizable; keep the opening of the resume instead
+            return truncate(resumeContent.trim().replaceAll("\\s+", " "));
+        }
+        return truncate(String.join(". ", parts));
+    }
+
+    private String truncate(String profile) {
+        return profile.length() <= maxProfileChars ? profile : profile.substring(0, maxProfileChars);
+    }
+
+    private static String hash(String resumeContent) {
+        String normalized = resumeContent.trim().replaceAll("\\s+", " ").toLowerCase();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.virtualinterviewer.service;
+
+import com.virtualinterviewer.model.Interview;
+import com.virtualinterviewer.model.ScoreHistogramBucket;
+import com.virtualinterviewer.repository.InterviewRepository;
+import com.virtualinterviewer.repository.ScoreHistogramBucketRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Platform-wide distribution of completed interview scores per domain and per job role, kept as
+ * fixed histograms of 101 one-point buckets so a percentile lookup costs the same however many
+ * interviews exist. Completions are counted in memory; a scheduled snapshot adds the new counts
+ * to score_histogram_buckets and reloads the totals, which also picks up other instances' counts.
+ * Samples are interviews, not users: each completion adds one score, so a user with many
+ * interviews counts many times. Ranking against per-user averages would need each user's
+ * previous average to move their sample, which one-way counters cannot do.
+ */
+@Service
+public class ScorePercentileService {
+
+    public static final String DOMAIN = "domain";
+    public static final String JOB_ROLE = "jobRole";
+    private static final int BUCKETS = 101;
+    // Dimension of the row marking that the histograms were seeded
+    private static final String SEED_GUARD = "_seeded";
+
+    private final ScoreHistogramBucketRepository bucketRepository;
+    private final InterviewRepository interviewRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Key, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public ScorePercentileService(ScoreHistogramBucketRepository bucketRepository,
+                                  InterviewRepository interviewRepository,
+                                  MeterRegistry meterRegistry,
+                                  PlatformTransactionManager transactionManager) {
+        this.bucketRepository = bucketRepository;
+        this.interviewRepository = interviewRepository;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("analytics.percentile.histograms", histograms, Map::size);
+    }
+
+    /**
+     * Seeds the snapshot from existing interviews the first time, then loads it. The guard row
+     * commits together with the seed, so when several instances start at once the others block
+     * on its key, then fail on it and skip seeding.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                bucketRepository.insertMarker(SEED_GUARD, SEED_GUARD, now);
+                Map<Key, long[]> seeded = new HashMap<>();
+                seedCounts(seeded, DOMAIN, interviewRepository.countScoresByDomain(Interview.InterviewStatus.COMPLETED));
+                seedCounts(seeded, JOB_ROLE, interviewRepository.countScoresByJobRole(Interview.InterviewStatus.COMPLETED));
+                int rows = 0;
+                for (Map.Entry<Key, long[]> entry : seeded.entrySet()) {
+                    long[] buckets = entry.getValue();
+                    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                        if (buckets[bucket] > 0) {
+                            bucketRepository.addSamples(entry.getKey().dimension(), entry.getKey().value(), bucket, buckets[bucket], now);
+                            rows++;
+                        }
+                    }
+                }
+                if (rows > 0) {
+                    System.out.println("Seeded " + rows + " score histogram buckets from completed interviews");
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Already seeded, by an earlier start or by another instance starting now
+        }
+        reload();
+    }
+
+    public void record(String domain, String jobRole, double score) {
+        int bucket = bucketOf(score);
+        if (domain != null) {
+            histogram(DOMAIN, domain).add(bucket);
+        }
+        if (jobRole != null) {
+            histogram(JOB_ROLE, jobRole).add(bucket);
+        }
+    }
+
+    /**
+     * Share of completed interviews in the dimension that scored below the given score, counting
+     * half of those in the same one-point bucket. Empty when nobody has been scored there yet.
+     */
+    public Optional<Percentile> percentile(String dimension, String value, double score) {
+        Histogram histogram = histograms.get(new Key(dimension, value));
+        if (histogram == null) {
+            return Optional.empty();
+        }
+        return histogram.percentile(bucketOf(score));
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.percentiles.snapshot-interval-ms:60000}",
+               initialDelayString = "${analytics.percentiles.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Key, Histogram> entry : histograms.entrySet()) {
+            Key key = entry.getKey();
+            long[] pending = entry.getValue().drainPending();
+            if (pending == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                        if (pending[bucket] > 0) {
+                            bucketRepository.addSamples(key.dimension(), key.value(), bucket, pending[bucket], now);
+                        }
+                    }
+                });
+            } catch (Exception e) {
+                // Keep the counts for the next snapshot
+                entry.getValue().restorePending(pending);
+                meterRegistry.counter("analytics.percentile.snapshot.failures").increment();
+                System.err.println("Failed to snapshot score histogram " + key + ": " + e.getMessage());
+            }
+        }
+        reload();
+    }
+
+    private void reload() {
+        Map<Key, long[]> stored = new HashMap<>();
+        for (ScoreHistogramBucket row : bucketRepository.findAll()) {
+            if (SEED_GUARD.equals(row.getDimension())) {
+                continue;
+            }
+            stored.computeIfAbsent(new Key(row.getDimension(), row.getDimensionValue()), k -> new long[BUCKETS])
+                    [row.getBucket()] = row.getSampleCount();
+        }
+        stored.forEach((key, counts) -> histograms.computeIfAbsent(key, k -> new Histogram()).reset(counts));
+    }
+
+    private static void seedCounts(Map<Key, long[]> counts, String dimension, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            long[] buckets = counts.computeIfAbsent(new Key(dimension, (String) row[0]), k -> new long[BUCKETS]);
+            buckets[bucketOf(((Number) row[1]).doubleValue())] += ((Number) row[2]).longValue();
+        }
+    }
+
+    private Histogram histogram(String dimension, String value) {
+        return histograms.computeIfAbsent(new Key(dimension, value), k -> new Histogram());
+    }
+
+    private static int bucketOf(double score) {
+        return (int) Math.max(0, Math.min(BUCKETS - 1, Math.floor(score)));
+    }
+
+    private record Key(String dimension, String value) {}
+
+    public record Percentile(double percentile, long sampleSize) {}
+
+    // Counts include the pending ones, which are also kept apart until the next snapshot writes them
+    private static final class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLongArray pending = new AtomicLongArray(BUCKETS);
+
+        void add(int bucket) {
+            pending.incrementAndGet(bucket);
+            counts.incrementAndGet(bucket);
+        }
+
+        Optional<Percentile> percentile(int bucket) {
+            long below = 0;
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = counts.get(i);
+                if (i < bucket) {
+                    below += count;
+                }
+                total += count;
+            }
+            if (total == 0) {
+                return Optional.empty();
+            }
+            double rank = (below + counts.get(bucket) / 2.0) / total * 100.0;
+            return Optional.of(new Percentile(Math.round(rank * 10.0) / 10.0, total));
+        }
+
+        long[] drainPending() {
+            long[] drained = new long[BUCKETS];
+            boolean any = false;
+            for (int i = 0; i < BUCKETS; i++) {
+                drained[i] = pending.getAndSet(i, 0);
+                any |= drained[i] > 0;
+            }
+            return any ? drained : null;
+        }
+
+        void restorePending(long[] drained) {
+            for (int i = 0; i < BUCKETS; i++) {
+                pending.addAndGet(i, drained[i]);
+            }
+        }
+
+        // Stored totals plus whatever was recorded here since they were written
+        void reset(long[] stored) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, stored[i] + pending.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.virtualinterviewer.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for the LLM, for load tests without network access or API spend.
+ * Latency, failures and the wording of generated questions are drawn from an RNG seeded by
+ * ai.simulator.seed, the operation, the prompt and how often that prompt has been sent before.
+ * A run is therefore repeatable however concurrent calls interleave, yet, like a real model, the
+ * simulator rarely asks the same question twice and a retried call can succeed. Evaluations and
+ * feedback text are a pure function of the inputs.
+ */
+@Component
+@ConditionalOnProperty(name = "ai.provider", havingValue = "simulator")
+public class SimulatedLlmProvider implements LlmProvider {
+
+    private static final String[] QUESTION_STEMS = {
+            "Explain how you would design",
+            "Walk me through debugging",
+            "What trade-offs would you consider when choosing",
+            "Describe how you would test",
+            "How would you optimize"
+    };
+    private static final String[] QUESTION_TOPICS = {
+            "a rate limiter", "a caching layer", "a data pipeline", "an authentication flow",
+            "a search feature", "a notification service", "a schema migration", "a concurrent job scheduler"
+    };
+    private static final String[] QUESTION_CONSTRAINTS = {
+            "at ten times today's traffic", "with a strict latency budget", "across multiple regions",
+            "for a team new to the codebase", "while keeping old clients working", "on a tight infrastructure budget",
+            "when a dependency is unreliable", "with auditing requirements", "under a hard launch deadline",
+            "when data must never be lost", "with spiky, unpredictable load", "for a mobile-first audience"
+    };
+
+    // Calls so far per prompt, hashed into a fixed number of slots so memory stays bounded
+    private static final int PROMPT_SLOTS = 1 << 16;
+
+    private final AtomicLongArray promptCalls = new AtomicLongArray(PROMPT_SLOTS);
+
+    @Value("${ai.simulator.seed:42}")
+    private long seed;
+
+    @Value("${ai.simulator.latency.distribution:normal}")
+    private String latencyDistribution; // fixed | uniform | normal | lognormal
+
+    @Value("${ai.simulator.latency.mean-ms:800}")
+    private double latencyMeanMs;
+
+    @Value("${ai.simulator.latency.spread-ms:300}")
+    private double latencySpreadMs;
+
+    @Value("${ai.simulator.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${ai.simulator.stream-token-delay-ms:20}")
+    private long streamTokenDelayMs;
+
+    @Override
+    public String generateQuestion(String jobRole, String domain, String difficulty, String resumeContent, long timeoutMs) {
+        return question(jobRole, domain, difficulty,
+                simulateCall(timeoutMs, "question", jobRole, domain, difficulty, resumeContent));
+    }
+
+    @Override
+    public String[] generateQuestionBatch(String jobRole, String domain, List<String> difficulties, String resumeContent,
+                                          long timeoutMs) {
+        SplittableRandom random = simulateCall(timeoutMs, "questionBatch", jobRole, domain,
+                String.join(",", difficulties), resumeContent);
+        String[] questions = new String[difficulties.size()];
+        for (int i = 0; i < questions.length; i++) {
+            questions[i] = question(jobRole, domain, difficulties.get(i), random);
+        }
+        return questions;
+    }
+
+    @Override
+    public String evaluateAnswer(String question, String userAnswer, String domain) {
+        simulateCall(0, "evaluate", question, userAnswer, domain);
+        int words = userAnswer == null || userAnswer.isBlank() ? 0 : userAnswer.trim().split("\\s+").length;
+        // Longer answers score higher, with a stable per-input jitter
+        int score = Math.min(100, Math.min(words, 60) + Math.floorMod(hash(question, userAnswer, domain), 40));
+        return String.format(
+                "Score: %d/100\n\n" +
+                "Strengths: The answer addresses the %s question directly.\n" +
+                "Weaknesses: More concrete examples would strengthen it.\n" +
+                "Suggestions: Quantify the impact of your decisions.\n" +
+                "Correct answer: (simulated evaluator)",
+                score, domain);
+    }
+
+    @Override
+    public String generateFeedback(List<String> strengths, List<String> weaknesses, double score) {
+        simulateCall(0, "feedback", String.valueOf(strengths), String.valueOf(weaknesses), String.valueOf(score));
+        return feedback(strengths, weaknesses, score);
+    }
+
+    @Override
+    public String summarizeResume(String resumeContent) {
+        simulateCall(0, "resume", resumeContent);
+        String[] words = resumeContent.trim().split("\\s+");
+        return "Candidate profile: " + String.join(" ", Arrays.copyOf(words, Math.min(words.length, 60)));
+    }
+
+    @Override
+    public String streamFeedback(List<String> strengths, List<String> weaknesses, double score, Consumer<String> onToken) {
+        simulateCall(0, "streamFeedback", String.valueOf(strengths), String.valueOf(weaknesses), String.valueOf(score));
+        String text = feedback(strengths, weaknesses, score);
+        for (String token : text.split("(?<= )")) {
+            sleep(streamTokenDelayMs);
+            onToken.accept(token);
+        }
+        return text;
+    }
+
+    private static String question(String jobRole, String domain, String difficulty, SplittableRandom random) {
+        return String.format("[%s] %s %s %s for a %s working in %s?",
+                difficulty,
+                QUESTION_STEMS[random.nextInt(QUESTION_STEMS.length)],
+                QUESTION_TOPICS[random.nextInt(QUESTION_TOPICS.length)],
+                QUESTION_CONSTRAINTS[random.nextInt(QUESTION_CONSTRAINTS.length)],
+                jobRole, domain);
+    }
+
+    private String feedback(List<String> strengths, List<String> weaknesses, double score) {
+        return String.format(
+                "Overall assessment: you scored %.1f/100.\n" +
+                "Key strengths: %s.\n" +
+                "Areas for improvement: %s.\n" +
+                "Recommendations: practice explaining trade-offs out loud and review core fundamentals.\n" +
+                "Next interview: prepare two detailed project stories.",
+                score,
+                strengths.isEmpty() ? "consistent effort" : String.join(", ", strengths),
+                weaknesses.isEmpty() ? "none identified" : String.join(", ", weaknesses));
+    }
+
+    /**
+     * Sleeps for the call's latency and may fail; returns the call's RNG for output that should vary.
+     * The n-th call with a given operation and prompt always gets the same RNG. Prompts sharing a
+     * slot share its count, which only matters when they run concurrently.
+     */
+    private SplittableRandom simulateCall(long timeoutMs, String operation, String... prompt) {
+        long promptHash = mix(seed ^ ((long) hash(prompt) << 32 | (operation.hashCode() & 0xFFFFFFFFL)));
+        long previousCalls = promptCalls.getAndIncrement((int) (promptHash & (PROMPT_SLOTS - 1)));
+        SplittableRandom random = new SplittableRandom(mix(promptHash + previousCalls * 0x9E3779B97F4A7C15L));
+        long latencyMs = sampleLatencyMs(random);
+        if (timeoutMs > 0 && latencyMs > timeoutMs) {
+            sleep(timeoutMs);
+            throw new RuntimeException("Simulated LLM call timed out after " + timeoutMs + " ms");
+        }
+        sleep(latencyMs);
+        if (random.nextDouble() < errorRate) {
+            throw new RuntimeException("Simulated LLM failure");
+        }
+        return random;
+    }
+
+    private long sampleLatencyMs(SplittableRandom random) {
+        double latency = switch (latencyDistribution.toLowerCase()) {
+            case "fixed" -> latencyMeanMs;
+            case "uniform" -> latencyMeanMs - latencySpreadMs + random.nextDouble() * 2 * latencySpreadMs;
+            case "lognormal" -> {
+                // mean-ms is the median, spread-ms / mean-ms the shape parameter
+                double sigma = latencyMeanMs > 0 ? latencySpreadMs / latencyMeanMs : 0;
+                yield latencyMeanMs * Math.exp(sigma * gaussian(random));
+            }
+            default -> latencyMeanMs + latencySpreadMs * gaussian(random);
+        };
+        return Math.max(0, Math.round(latency));
+    }
+
+    // Box-Muller; SplittableRandom has no nextGaussian
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int hash(String... parts) {
+        int h = 17;
+        for (String part : parts) {
+            h = 31 * h + (part != null ? part.hashCode() : 0);
+        }
+        return h;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Simulated LLM call interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.virtualinterviewer.config;
+
+import com.virtualinterviewer.model.InterviewQuestion;
+import com.virtualinterviewer.repository.InterviewQuestionRepository;
+import com.virtualinterviewer.service.QuestionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read/write routing against two separate in-memory databases. Each holds a different row in
+ * routing_probe, so a query shows which one a transaction's connection came from.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "datasource.replica.url=jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "datasource.replica.pin-after-write-ms=300",
+        "ai.provider=simulator",
+        "interview.pool.enabled=false",
+        "interview.question-export.fetch-size=100"
+})
+class ReadWriteRoutingIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InterviewQuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @BeforeEach
+    void writeProbes() {
+        writeProbe(primaryDataSource, "primary");
+        writeProbe(replicaDataSource, "replica");
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(probe(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+        assertThat(probe(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void workOutsideATransactionUsesThePrimary() {
+        assertThat(new JdbcTemplate(dataSource).queryForObject("select name from routing_probe", String.class))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsStayOnThePrimaryAfterTheirOwnWrite() throws InterruptedException {
+        signIn("writer@example.com");
+        write();
+        assertThat(probe(true)).isEqualTo("primary");
+
+        signIn("reader@example.com");
+        assertThat(probe(true)).isEqualTo("replica");
+
+        signIn("writer@example.com");
+        Thread.sleep(400);
+        assertThat(probe(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void writesWithoutAUserDoNotPin() {
+        write();
+        assertThat(probe(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWritesDoNotPin() {
+        signIn("writer@example.com");
+        transaction(false).executeWithoutResult(status -> {
+            new JdbcTemplate(dataSource).update("update routing_probe set name = name");
+            status.setRollbackOnly();
+        });
+        assertThat(probe(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void questionReadsFollowTheRouting() {
+        InterviewQuestion question = new InterviewQuestion();
+        question.setQuestion("How would you shard a routing test table?");
+        question.setType(InterviewQuestion.QuestionType.TECHNICAL);
+        question.setDomain("Routing");
+        question.setJobRole("Tester");
+        question.setDifficulty(3);
+        question.setCreatedBy("TEST");
+        Long id = transaction(false).execute(status -> questionRepository.save(question).getId());
+
+        // Nothing replicates between the two databases, so the replica never sees the row
+        List<InterviewQuestion> page = questionService.getActiveQuestionPage(null, 500, version -> false).items();
+        assertThat(page).extracting(InterviewQuestion::getId).doesNotContain(id);
+        // Cached lists are filled from the primary
+        assertThat(questionService.getQuestionsByDomainAndJobRole("Routing", "Tester"))
+                .extracting(InterviewQuestion::getId).containsExactly(id);
+    }
+
+    private String probe(boolean readOnly) {
+        return transaction(readOnly).execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select name from routing_probe", String.class));
+    }
+
+    private void write() {
+        transaction(false).executeWithoutResult(status ->
+                new JdbcTemplate(dataSource).update("update routing_probe set name = name"));
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private static void writeProbe(DataSource target, String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(target);
+        jdbc.execute("create table if not exists routing_probe (name varchar(20))");
+        jdbc.update("delete from routing_probe");
+        jdbc.update("insert into routing_probe (name) values (?)", name);
+    }
+
+    /**
+     * Hibernate only creates the schema on the primary; a real replica gets it through replication.
+     * Copied as soon as the entity manager factory exists, before startup work reads the replica.
+     */
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        @Bean
+        static BeanPostProcessor replicaSchemaCopier(BeanFactory beanFactory) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof EntityManagerFactory) {
+                        JdbcTemplate replica = new JdbcTemplate(beanFactory.getBean("replicaDataSource", DataSource.class));
+                        JdbcTemplate primary = new JdbcTemplate(beanFactory.getBean("primaryDataSource", DataSource.class));
+                        for (String statement : primary.queryForList("script nodata", String.class)) {
+                            if (!statement.startsWith("CREATE USER")) {
+                                replica.execute(statement);
+                            }
+                        }
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -7,6 +7,8 @@ import { FiEdit2, FiTrash2, FiPlus } from 'react-icons/fi';
 function AdminPage() {
   const [questions, setQuestions] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [showForm, setShowForm] = useState(false);
   const [editingId, setEditingId] = useState(null);
   const [formData, setFormData] = useState({
@@ -24,10 +26,12 @@ function AdminPage() {
     fetchQuestions();
   }, []);
 
+  // The list is paged; the cursor for the next page comes back in X-Next-Cursor
   const fetchQuestions = async () => {
     try {
       const response = await questionService.getAllQuestions();
       setQuestions(response.data);
+      setNextCursor(response.headers['x-next-cursor'] || null);
     } catch (error) {
       toast.error('Failed to load questions');
     } finally {
@@ -35,6 +39,19 @@ function AdminPage() {
     }
   };
 
+  const loadMoreQuestions = async () => {
+    setLoadingMore(true);
+    try {
+      const response = await questionService.getAllQuestions(nextCursor);
+      setQuestions((loaded) => [...loaded, ...response.data]);
+      setNextCursor(response.headers['x-next-cursor'] || null);
+    } catch (error) {
+      toast.error('Failed to load more questions');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleFormChange = (e) => {
     const { name, value } = e.target;
     setFormData({
@@ -241,7 +258,7 @@ function AdminPage() {
 
       <Card className="card-custom">
         <Card.Body>
-          <Card.Title>All Questions ({questions.length})</Card.Title>
+          <Card.Title>All Questions ({questions.length}{nextCursor ? '+' : ''})</Card.Title>
           {questions.length === 0 ? (
             <Alert variant="info">No questions yet. Create one to get started!</Alert>
           ) : (
@@ -292,6 +309,13 @@ function AdminPage() {
                   ))}
                 </tbody>
               </Table>
+              {nextCursor && (
+                <div className="text-center">
+                  <Button variant="outline-secondary" onClick={loadMoreQuestions} disabled={loadingMore}>
+                    {loadingMore ? 'Loading...' : 'Load More'}
+                  </Button>
+                </div>
+              )}
             </div>
           )}
         </Card.Body>
@@ -6,7 +6,10 @@ import { ToastContainer, toast } from 'react-toastify';
 
 function DashboardPage() {
   const [interviews, setInterviews] = useState([]);
+  const [stats, setStats] = useState({ TOTAL: 0, COMPLETED: 0, IN_PROGRESS: 0 });
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [showStartModal, setShowStartModal] = useState(false);
   const [startFormData, setStartFormData] = useState({
     jobRole: '',
@@ -21,8 +24,13 @@ function DashboardPage() {
 
   const fetchInterviews = async () => {
     try {
-      const response = await interviewService.getMyInterviews();
+      const [response, statsResponse] = await Promise.all([
+        interviewService.getMyInterviews(),
+        interviewService.getMyInterviewStats(),
+      ]);
       setInterviews(response.data);
+      setNextCursor(response.headers['x-next-cursor'] || null);
+      setStats(statsResponse.data);
     } catch (error) {
       console.error('Failed to load interviews:', error.response?.data || error.message);
       toast.error(error.response?.data?.message || 'Failed to load interviews');
@@ -31,6 +39,21 @@ function DashboardPage() {
     }
   };
 
+  // Interviews come 20 per page, newest first; X-Next-Cursor points at the next page
+  const loadMoreInterviews = async () => {
+    setLoadingMore(true);
+    try {
+      const response = await interviewService.getMyInterviews(nextCursor);
+      setInterviews((loaded) => [...loaded, ...response.data]);
+      setNextCursor(response.headers['x-next-cursor'] || null);
+    } catch (error) {
+      console.error('Failed to load more interviews:', error.response?.data || error.message);
+      toast.error(error.response?.data?.message || 'Failed to load more interviews');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleStartInterview = async (e) => {
     e.preventDefault();
     try {
@@ -120,13 +143,13 @@ function DashboardPage() {
               <Card.Title>Quick Stats</Card.Title>
               <div className="mb-3">
                 <p className="mb-1">
-                  <strong>Total Interviews:</strong> {interviews.length}
+                  <strong>Total Interviews:</strong> {stats.TOTAL}
                 </p>
                 <p className="mb-1">
-                  <strong>Completed:</strong> {interviews.filter(i => i.status === 'COMPLETED').length}
+                  <strong>Completed:</strong> {stats.COMPLETED}
                 </p>
                 <p className="mb-1">
-                  <strong>In Progress:</strong> {interviews.filter(i => i.status === 'IN_PROGRESS').length}
+                  <strong>In Progress:</strong> {stats.IN_PROGRESS}
                 </p>
               </div>
               <Button href="/analytics" className="w-100 btn-primary-custom">
@@ -193,6 +216,13 @@ function DashboardPage() {
                   </Card>
                 </Col>
               ))}
+              {nextCursor && (
+                <Col xs={12} className="text-center">
+                  <Button variant="outline-secondary" onClick={loadMoreInterviews} disabled={loadingMore}>
+                    {loadingMore ? 'Loading...' : 'Load More'}
+                  </Button>
+                </Col>
+              )}
             </div>
           )}
         </Col>
@@ -31,12 +31,15 @@ export const interviewService = {
   getNextQuestion: (interviewId) => apiClient.get(`/interviews/${interviewId}/next-question`),
   submitAnswer: (interviewId, data) => apiClient.post(`/interviews/${interviewId}/submit-answer`, data),
   completeInterview: (interviewId) => apiClient.post(`/interviews/${interviewId}/complete`),
-  getMyInterviews: () => apiClient.get('/interviews/my-interviews'),
+  getMyInterviews: (cursor) =>
+    apiClient.get('/interviews/my-interviews', { params: cursor ? { cursor } : {} }),
+  getMyInterviewStats: () => apiClient.get('/interviews/my-interviews/stats'),
 };
 
 // Question Services
 export const questionService = {
-  getAllQuestions: () => apiClient.get('/questions/public/all'),
+  getAllQuestions: (cursor) =>
+    apiClient.get('/questions/public/all', { params: cursor ? { cursor } : {} }),
   getQuestionsByDomainAndRole: (domain, jobRole) =>
     apiClient.get(`/questions/public/domain/${domain}/role/${jobRole}`),
   getQuestionsByType: (type, domain) => apiClient.get(`/questions/public/type/${type}/domain/${domain}`),